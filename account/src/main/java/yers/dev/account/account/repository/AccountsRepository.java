@@ -1,8 +1,12 @@
 package yers.dev.account.account.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import yers.dev.account.account.entity.Accounts;
+import yers.dev.account.account.entity.dto.AccountsDto;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,12 @@ public interface AccountsRepository extends JpaRepository<Accounts, Long> {
     Optional<Accounts> findByEmail(String email);
 
     Optional<Accounts> findByKeycloakId(String keycloakId);
+
+    /**
+     * Все аккаунты сразу в виде {@link AccountsDto}: выбираются только нужные колонки,
+     * без загрузки аудит-полей и снимков для dirty checking.
+     */
+    @Query("select new yers.dev.account.account.entity.dto.AccountsDto("
+            + "a.userId, a.email, a.name, a.lastName, a.phoneNumber, a.isActive) from Accounts a")
+    List<AccountsDto> findAllDtos();
 }
@@ -31,7 +31,7 @@ public class AccountsService {
      * @return список {@link AccountsDto} всех записей в базе
      */
     public List<AccountsDto> getAllUsers() {
-        return AccountsMapper.mapToUserDto(accountsRepository.findAll());
+        return accountsRepository.findAllDtos();
     }
 
     /**
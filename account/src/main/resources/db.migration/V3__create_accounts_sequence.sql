@@ -0,0 +1,3 @@
+-- Пул идентификаторов для Hibernate (allocationSize = 50), позволяет батчить INSERT
+CREATE SEQUENCE IF NOT EXISTS accounts_seq INCREMENT BY 50;
+SELECT setval('accounts_seq', (SELECT COALESCE(MAX(user_id), 0) + 1 FROM accounts));
@@ -0,0 +1,51 @@
+package yers.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import yers.dev.account.account.entity.Accounts;
+import yers.dev.account.account.entity.dto.AccountsDto;
+import yers.dev.account.account.mapper.AccountsMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Статический {@link AccountsMapper}: одиночные объекты и список
+ * через {@code stream().map().collect()}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountsMapperBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private Accounts account;
+    private AccountsDto accountsDto;
+    private List<Accounts> accounts;
+
+    @Setup
+    public void setUp() {
+        account = BenchmarkData.account(42);
+        accountsDto = AccountsMapper.mapToUserDto(account, new AccountsDto());
+        accounts = BenchmarkData.listOf(size, BenchmarkData::account);
+    }
+
+    @Benchmark
+    public AccountsDto mapToUserDto() {
+        return AccountsMapper.mapToUserDto(account, new AccountsDto());
+    }
+
+    @Benchmark
+    public Accounts mapToUser() {
+        return AccountsMapper.mapToUser(new Accounts(), accountsDto);
+    }
+
+    @Benchmark
+    public List<AccountsDto> mapToUserDtoList() {
+        return AccountsMapper.mapToUserDto(accounts);
+    }
+}
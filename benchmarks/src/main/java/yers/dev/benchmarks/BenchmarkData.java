@@ -0,0 +1,80 @@
+package yers.dev.benchmarks;
+
+import yers.dev.account.account.entity.Accounts;
+import yers.dev.inventory.entity.Inventory;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.products.model.Category;
+import yers.dev.products.model.Products;
+import yers.dev.products.model.dto.ProductInventoryDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Тестовые объекты для бенчмарков. Значения различаются по индексу,
+ * чтобы JIT не мог свернуть маппинг одинаковых объектов.
+ */
+final class BenchmarkData {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private BenchmarkData() {
+    }
+
+    static Products product(int i) {
+        Products product = new Products();
+        product.setProduct_id(i + 1);
+        product.setName("Product " + i);
+        product.setDescription("Description of product " + i);
+        product.setPrice(10.0 + i % 1000);
+        product.setCategory(CATEGORIES[i % CATEGORIES.length]);
+        product.setVersion(i % 7);
+        return product;
+    }
+
+    static ProductInventoryDto productInventoryDto(int i) {
+        ProductInventoryDto dto = new ProductInventoryDto();
+        dto.setName("Product " + i);
+        dto.setDescription("Description of product " + i);
+        dto.setPrice(10.0 + i % 1000);
+        dto.setCategory(CATEGORIES[i % CATEGORIES.length]);
+        dto.setStock_quantity(i % 500);
+        dto.setWarehouseLocation("WH-" + i % 10);
+        return dto;
+    }
+
+    static Inventory inventory(int i) {
+        Inventory inventory = new Inventory();
+        inventory.setInventory_id((long) i + 1);
+        inventory.setProductId((long) i + 1);
+        inventory.setQuantity((long) i % 500);
+        inventory.setWarehouseLocation("WH-" + i % 10);
+        inventory.setVersion((long) i % 7);
+        return inventory;
+    }
+
+    static InventoryDto inventoryDto(int i) {
+        return new InventoryDto((long) i + 1, (long) i + 1, (long) i % 500, "WH-" + i % 10, (long) i % 7);
+    }
+
+    static Accounts account(int i) {
+        Accounts account = new Accounts();
+        account.setUserId(i + 1);
+        account.setKeycloakId("kc-" + i);
+        account.setEmail("user" + i + "@example.com");
+        account.setName("Name" + i);
+        account.setLastName("LastName" + i);
+        account.setPhoneNumber(77000000000L + i);
+        account.setActive(i % 2 == 0);
+        return account;
+    }
+
+    static <T> List<T> listOf(int size, IntFunction<T> factory) {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(factory.apply(i));
+        }
+        return list;
+    }
+}
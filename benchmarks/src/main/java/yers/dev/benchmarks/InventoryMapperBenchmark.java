@@ -0,0 +1,61 @@
+package yers.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import yers.dev.inventory.entity.Inventory;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.mapper.InventoryMapper;
+import yers.dev.inventory.mapper.InventoryMapperImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сгенерированный MapStruct {@link InventoryMapper}: одиночные объекты и списки
+ * (MapStruct строит списки циклом в {@code ArrayList} заданной ёмкости).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryMapperBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private final InventoryMapper mapper = new InventoryMapperImpl();
+
+    private Inventory inventory;
+    private InventoryDto inventoryDto;
+    private List<Inventory> inventories;
+    private List<InventoryDto> inventoryDtos;
+
+    @Setup
+    public void setUp() {
+        inventory = BenchmarkData.inventory(42);
+        inventoryDto = BenchmarkData.inventoryDto(42);
+        inventories = BenchmarkData.listOf(size, BenchmarkData::inventory);
+        inventoryDtos = BenchmarkData.listOf(size, BenchmarkData::inventoryDto);
+    }
+
+    @Benchmark
+    public InventoryDto toInventoryDto() {
+        return mapper.toInventoryDto(inventory);
+    }
+
+    @Benchmark
+    public Inventory toInventory() {
+        return mapper.toInventory(inventoryDto);
+    }
+
+    @Benchmark
+    public List<InventoryDto> toInventoryDtoList() {
+        return mapper.toInventoryDto(inventories);
+    }
+
+    @Benchmark
+    public List<Inventory> toInventoryList() {
+        return mapper.toInventory(inventoryDtos);
+    }
+}
@@ -0,0 +1,60 @@
+package yers.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import yers.dev.products.mapper.ProductInventoryMapper;
+import yers.dev.products.model.dto.InventoryDto;
+import yers.dev.products.model.dto.ProductInventoryDto;
+import yers.dev.products.model.dto.ProductsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Статический {@link ProductInventoryMapper}: разбиение входного DTO на товар и складскую запись,
+ * как при одиночном и пакетном создании товаров.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductInventoryMapperBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private ProductInventoryDto productInventoryDto;
+    private List<ProductInventoryDto> productInventoryDtos;
+
+    @Setup
+    public void setUp() {
+        productInventoryDto = BenchmarkData.productInventoryDto(42);
+        productInventoryDtos = BenchmarkData.listOf(size, BenchmarkData::productInventoryDto);
+    }
+
+    @Benchmark
+    public ProductsDto toProductsDto() {
+        return ProductInventoryMapper.toProductsDto(productInventoryDto);
+    }
+
+    @Benchmark
+    public InventoryDto toInventoryDto() {
+        return ProductInventoryMapper.toInventoryDto(productInventoryDto);
+    }
+
+    @Benchmark
+    public List<ProductsDto> toProductsDtoList() {
+        return productInventoryDtos.stream().map(ProductInventoryMapper::toProductsDto).toList();
+    }
+
+    @Benchmark
+    public List<InventoryDto> toInventoryDtoListPresizedLoop() {
+        List<InventoryDto> result = new ArrayList<>(productInventoryDtos.size());
+        for (ProductInventoryDto dto : productInventoryDtos) {
+            result.add(ProductInventoryMapper.toInventoryDto(dto));
+        }
+        return result;
+    }
+}
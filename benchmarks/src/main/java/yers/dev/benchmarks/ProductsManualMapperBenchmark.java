@@ -0,0 +1,76 @@
+package yers.dev.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import yers.dev.products.mapper.ProductsManualMapper;
+import yers.dev.products.model.Products;
+import yers.dev.products.model.dto.ProductsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductsManualMapper}: одиночные объекты и списки. Помимо {@code toDtoList}
+ * ({@code stream().map().collect()}) меряются альтернативы — {@code Stream.toList()}
+ * и цикл с заранее заданной ёмкостью списка.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductsManualMapperBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private final ProductsManualMapper mapper = new ProductsManualMapper();
+
+    private Products product;
+    private ProductsDto productsDto;
+    private List<Products> products;
+    private List<ProductsDto> productsDtos;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkData.product(42);
+        productsDto = mapper.toDto(product);
+        products = BenchmarkData.listOf(size, BenchmarkData::product);
+        productsDtos = mapper.toDtoList(products);
+    }
+
+    @Benchmark
+    public ProductsDto toDto() {
+        return mapper.toDto(product);
+    }
+
+    @Benchmark
+    public Products toEntity() {
+        return mapper.toEntity(productsDto);
+    }
+
+    @Benchmark
+    public List<ProductsDto> toDtoList() {
+        return mapper.toDtoList(products);
+    }
+
+    @Benchmark
+    public List<ProductsDto> toDtoListStreamToList() {
+        return products.stream().map(mapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<ProductsDto> toDtoListPresizedLoop() {
+        List<ProductsDto> result = new ArrayList<>(products.size());
+        for (Products p : products) {
+            result.add(mapper.toDto(p));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Products> toEntityList() {
+        return mapper.toEntityList(productsDtos);
+    }
+}
@@ -0,0 +1,49 @@
+package yers.dev.inventory.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Параметры режима «горячих» товаров: остаток выбранных товаров резервируется в памяти,
+ * а в таблицу inventory периодически пишется накопленная разница.
+ * <p>
+ * Загружается из application.yml с префиксом {@code inventory.hot-stock}.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * inventory.hot-stock.enabled=true
+ * inventory.hot-stock.product-ids=101,102
+ * inventory.hot-stock.stripes=16
+ * inventory.hot-stock.flush-interval=200ms
+ * inventory.hot-stock.journal-directory=/var/lib/inventory/hot-stock
+ * }</pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "inventory.hot-stock")
+@Getter
+@Setter
+public class HotStockProperties {
+
+    /** Включён ли режим; без него все резервы идут условным UPDATE в БД */
+    private boolean enabled = false;
+
+    /** Товары, остаток которых ведётся в памяти */
+    private Set<Long> productIds = new HashSet<>();
+
+    /** Число полос счётчика одного товара */
+    private int stripes = Runtime.getRuntime().availableProcessors();
+
+    /** Как часто накопленная разница пишется в БД */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Каталог локального журнала, по которому восстанавливаются незаписанные изменения */
+    private Path journalDirectory = Path.of("hot-stock-journal");
+
+}
@@ -0,0 +1,37 @@
+package yers.dev.inventory.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Параметры микробатчинга запросов товаров к сервису products.
+ * <p>
+ * Загружается из application.yml с префиксом {@code inventory.product-batch}.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * inventory.product-batch.window=2ms
+ * inventory.product-batch.max-batch-size=100
+ * inventory.product-batch.timeout=2s
+ * }</pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "inventory.product-batch")
+@Getter
+@Setter
+public class ProductBatchProperties {
+
+    /** Сколько ждать новых id после первого запроса, прежде чем отправить пакет */
+    private Duration window = Duration.ofMillis(2);
+
+    /** Размер пакета, при достижении которого он отправляется не дожидаясь окна */
+    private int maxBatchSize = 100;
+
+    /** Сколько вызывающий ждёт данные товара, прежде чем ответить ошибкой */
+    private Duration timeout = Duration.ofSeconds(2);
+
+}
@@ -0,0 +1,37 @@
+package yers.dev.inventory.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Параметры резервов с ограниченным сроком жизни.
+ * <p>
+ * Загружается из application.yml с префиксом {@code inventory.reservation}.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * inventory.reservation.ttl=15m
+ * inventory.reservation.tick=100ms
+ * inventory.reservation.wheel-size=512
+ * }</pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "inventory.reservation")
+@Getter
+@Setter
+public class ReservationProperties {
+
+    /** Через сколько неподтверждённый резерв возвращается на склад */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /** Шаг колеса таймеров — точность срабатывания */
+    private Duration tick = Duration.ofMillis(100);
+
+    /** Число корзин колеса таймеров, округляется вверх до степени двойки */
+    private int wheelSize = 512;
+
+}
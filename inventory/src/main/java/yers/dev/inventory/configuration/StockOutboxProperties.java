@@ -0,0 +1,41 @@
+package yers.dev.inventory.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Параметры отправки изменённых остатков в сервис products.
+ * <p>
+ * Загружается из application.yml с префиксом {@code inventory.stock-outbox}.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * inventory.stock-outbox.poll-interval=200ms
+ * inventory.stock-outbox.batch-size=500
+ * inventory.stock-outbox.max-backoff=30s
+ * inventory.stock-outbox.lease-duration=30s
+ * }</pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "inventory.stock-outbox")
+@Getter
+@Setter
+public class StockOutboxProperties {
+
+    /** Как часто проверяется outbox */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /** Сколько отметок читается за раз; повторы одного товара схлопываются в одно значение */
+    private int batchSize = 500;
+
+    /** Верхняя граница паузы между повторами после неудачной отправки */
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /** Срок аренды outbox одним экземпляром; должен быть больше времени отправки пакета */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+}
@@ -20,4 +20,22 @@ public final class InventoryConstants {
     public static final String MESSAGE_CREATED_200 = "Your order has been placed successfully";
     public static final String STATUS_UPDATED_200 = "Your order has been updated successfully";
     public static final String STATUS_DELETED_200 = "Your order has been deleted successfully";
+    public static final String MESSAGE_RELEASED_200 = "Stock released successfully";
+    public static final String MESSAGE_CONFIRMED_200 = "Reservation confirmed successfully";
+    public static final String MESSAGE_CANCELLED_200 = "Reservation cancelled successfully";
+    public static final int  DEFAULT_PAGE_SIZE = 50;
+    public static final int  MAX_PAGE_SIZE = 500;
+    public static final String  DETAILS_PAGE_TIMER = "inventory.details.page";
+    public static final String  PRODUCT_FETCH_CALLS_METRIC = "inventory.product.fetch.calls";
+    public static final String  PRODUCT_FETCH_COALESCED_METRIC = "inventory.product.fetch.coalesced";
+    public static final String  PRODUCT_FETCH_IN_FLIGHT_METRIC = "inventory.product.fetch.in.flight";
+    public static final String  PRODUCT_BATCH_CALLS_METRIC = "inventory.product.batch.calls";
+    public static final String  PRODUCT_BATCH_SIZE_METRIC = "inventory.product.batch.size";
+    public static final String  CORRELATION_ID = "e-commerce-correlation-id";
+    public static final String  CORRELATION_ID_MDC_KEY = "correlation_id";
+    public static final String  RESERVATIONS_PENDING_METRIC = "inventory.reservations.pending";
+    public static final String  RESERVATIONS_EXPIRY_LAG_METRIC = "inventory.reservations.expiry.lag";
+    public static final String  RESERVATIONS_EXPIRED_METRIC = "inventory.reservations.expired";
+    public static final String  STOCK_OUTBOX_DEPTH_METRIC = "inventory.stock.outbox.depth";
+    public static final String  STOCK_OUTBOX_DELIVERED_METRIC = "inventory.stock.outbox.delivered";
 }
@@ -14,10 +14,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import yers.dev.inventory.entity.dto.ErrorResponseDto;
+import yers.dev.inventory.entity.dto.InventoryChangeDto;
 import yers.dev.inventory.entity.dto.InventoryDto;
 import yers.dev.inventory.entity.dto.ProductInventoryDto;
+import yers.dev.inventory.entity.dto.ProductInventoryPageDto;
+import yers.dev.inventory.entity.dto.ReservationDto;
 import yers.dev.inventory.entity.dto.ResponseDto;
+import yers.dev.inventory.entity.dto.StockReleaseDto;
+import yers.dev.inventory.entity.dto.StockReservationDto;
 import yers.dev.inventory.service.InventoryService;
+import yers.dev.inventory.util.ETagUtility;
 import java.util.List;
 import static yers.dev.inventory.constants.InventoryConstants.*;
 
@@ -55,9 +61,38 @@ public class InventoryController {
     )
     @GetMapping
     public ResponseEntity<List<InventoryDto>> getInventory() {
+        List<InventoryDto> inventories = inventoryService.fetchAllProducts();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(inventoryService.fetchAllProducts());
+                .eTag(ETagUtility.forInventories(inventories))
+                .body(inventories);
+    }
+
+    @Operation(
+            summary = "Fetch a page of inventory rows with product details",
+            description = "REST API to fetch inventory rows joined with product data, one batched products call per page"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page fetched successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Products service is unavailable",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/details")
+    public ResponseEntity<ProductInventoryPageDto> getInventoryDetails(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(inventoryService.fetchProductsPage(after, size));
     }
 
     @Operation(
@@ -84,10 +119,11 @@ public class InventoryController {
     )
     @GetMapping("/{productId}")
     public ResponseEntity<ProductInventoryDto> fetchAllInventoryByProductId(@PathVariable("productId") Long productId) {
-        inventoryService.fetchProduct(productId);
+        ProductInventoryDto productInventoryDto = inventoryService.fetchProduct(productId);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(inventoryService.fetchProduct(productId));
+                .eTag(ETagUtility.forProductInventory(productInventoryDto))
+                .body(productInventoryDto);
     }
 
     @PutMapping("/update/{productId}")
@@ -98,6 +134,119 @@ public class InventoryController {
                 .body(new ResponseDto(STATUS_200, STATUS_UPDATED_200));
     }
 
+    @Operation(
+            summary = "Reserve stock for a product",
+            description = "REST API to atomically decrement stock; fails with 409 when not enough stock is left. "
+                    + "The reservation must be confirmed before it expires, otherwise the stock is returned"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock reserved successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Inventory for the product was not found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Not enough stock",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/{productId}/reserve")
+    public ResponseEntity<ReservationDto> reserveStock(@PathVariable("productId") Long productId,
+                                                       @Valid @RequestBody StockReservationDto reservationDto) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(inventoryService.reserveStock(productId, reservationDto.getQuantity()));
+    }
+
+    @Operation(
+            summary = "Confirm a stock reservation",
+            description = "REST API to keep reserved stock for good so that it is not returned when the reservation expires"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reservation confirmed successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Reservation was not found or has already expired",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<ResponseDto> confirmReservation(@PathVariable("reservationId") String reservationId) {
+        inventoryService.confirmReservation(reservationId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_CONFIRMED_200));
+    }
+
+    @Operation(
+            summary = "Cancel a stock reservation",
+            description = "REST API to return reserved stock right away instead of waiting for the reservation to expire"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reservation cancelled successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Reservation was not found or has already expired",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/reservations/{reservationId}/cancel")
+    public ResponseEntity<ResponseDto> cancelReservation(@PathVariable("reservationId") String reservationId) {
+        inventoryService.cancelReservation(reservationId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_CANCELLED_200));
+    }
+
+    @Operation(
+            summary = "Release reserved stock for a product",
+            description = "REST API to atomically return the stock of a reservation of this product"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock released successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Reservation of the product was not found or has already expired",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/{productId}/release")
+    public ResponseEntity<ResponseDto> releaseStock(@PathVariable("productId") Long productId,
+                                                    @Valid @RequestBody StockReleaseDto releaseDto) {
+        inventoryService.releaseStock(productId, releaseDto.getReservationId());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_RELEASED_200));
+    }
+
     @PostMapping
     public ResponseEntity<ResponseDto> createInventory(@Valid @RequestBody InventoryDto inventoryDto) {
         try {
@@ -113,6 +262,39 @@ public class InventoryController {
         }
     }
 
+    @Operation(
+            summary = "Apply a batch of inventory changes",
+            description = "REST API used by the products outbox relay to upsert or delete inventory rows in one transaction"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Changes applied successfully"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "A change in the batch is invalid; nothing was applied",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/changes")
+    public ResponseEntity<ResponseDto> applyChanges(@RequestBody List<InventoryChangeDto> changes) {
+        inventoryService.applyChanges(changes);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_200));
+    }
+
     @DeleteMapping("/delete/{productId}")
     public ResponseEntity<ResponseDto> deleteInventory(@PathVariable("productId") Long productId) {
         try {
@@ -1,9 +1,12 @@
 package yers.dev.inventory.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,11 +15,22 @@ import lombok.Setter;
 @Setter
 public class Inventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 50)
     private Long inventory_id;
 
+    @Column(name = "product_id", unique = true)
+    private Long productId;
+
     private Long quantity;
 
     private String warehouseLocation;
 
+    @Version
+    private Long version;
+
+    /** Последний сегмент журнала горячих товаров, изменения которого уже учтены в quantity */
+    @Column(name = "hot_stock_segment")
+    private Long hotStockSegment;
+
 }
@@ -0,0 +1,32 @@
+package yers.dev.inventory.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Аренда relay outbox. Отправлять остатки может только экземпляр сервиса, записанный
+ * в {@code owner}, пока не истёк {@code leasedUntil}; владелец продлевает аренду перед каждым пакетом.
+ */
+@Entity
+@Table(name = "outbox_relay_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayLease {
+    @Id
+    private String name;
+
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime leasedUntil;
+}
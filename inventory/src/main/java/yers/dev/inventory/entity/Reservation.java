@@ -0,0 +1,67 @@
+package yers.dev.inventory.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неподтверждённый резерв. Пока строка существует, товар списан со склада и должен
+ * вернуться на него к {@code expiresAt}; удаление строки и есть право вернуть товар,
+ * поэтому один резерв не возвращается дважды.
+ * <p>
+ * Id назначается приложением, поэтому новая строка помечается как новая явно: иначе
+ * {@code save} сначала искал бы её SELECT'ом.
+ */
+@Entity
+@Table(name = "reservation")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Reservation implements Persistable<String> {
+    @Id
+    @Column(name = "reservation_id")
+    private String reservationId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    private boolean loaded;
+
+    public Reservation(String reservationId, Long productId, long quantity, LocalDateTime expiresAt) {
+        this.reservationId = reservationId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        loaded = true;
+    }
+
+    @Override
+    public String getId() {
+        return reservationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !loaded;
+    }
+}
@@ -0,0 +1,48 @@
+package yers.dev.inventory.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Отметка об изменении остатка товара. Пишется в той же транзакции, что и само изменение;
+ * сам остаток не хранит — при отправке берётся текущее состояние строки inventory.
+ */
+@Entity
+@Table(name = "stock_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_outbox_seq")
+    @SequenceGenerator(name = "stock_outbox_seq", sequenceName = "stock_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public static List<StockOutboxEvent> of(Collection<Long> productIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return productIds.stream().map(productId -> {
+            StockOutboxEvent event = new StockOutboxEvent();
+            event.setProductId(productId);
+            event.setCreatedAt(now);
+            return event;
+        }).toList();
+    }
+}
@@ -0,0 +1,24 @@
+package yers.dev.inventory.entity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Изменение складской записи товара из outbox сервиса products: запись создаётся
+ * или перезаписывается, либо удаляется при {@code deleted = true}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangeDto {
+
+    private Long productId;
+
+    private Long quantity;
+
+    private String warehouseLocation;
+
+    private boolean deleted;
+
+}
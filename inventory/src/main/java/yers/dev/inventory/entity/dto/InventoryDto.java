@@ -1,14 +1,22 @@
 package yers.dev.inventory.entity.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class InventoryDto {
 
     private Long inventory_id;
 
+    private Long productId;
+
     private Long quantity;
 
     private String warehouseLocation;
 
+    private Long version;
+
 }
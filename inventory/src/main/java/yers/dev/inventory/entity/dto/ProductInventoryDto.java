@@ -1,5 +1,6 @@
 package yers.dev.inventory.entity.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -23,6 +24,11 @@ public class ProductInventoryDto {
     )
     private Long product_inventory_id;
 
+    /**
+     * Идентификатор продукта в сервисе products
+     */
+    private Long product_id;
+
     /**
      * Название продукта
      */
@@ -59,4 +65,16 @@ public class ProductInventoryDto {
      */
     @NotBlank(message = "warehouseLocation не должен быть пустым")
     private String warehouseLocation;
+
+    /**
+     * Версия складской записи, используется только для ETag
+     */
+    @JsonIgnore
+    private Long inventoryVersion;
+
+    /**
+     * Версия продукта в сервисе products, используется только для ETag
+     */
+    @JsonIgnore
+    private long productVersion;
 }
@@ -0,0 +1,26 @@
+package yers.dev.inventory.entity.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-страница складских записей вместе с данными товаров
+ */
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(name = "ProductInventoryPage", description = "Страница складских записей с данными товаров")
+public class ProductInventoryPageDto {
+
+    /**
+     * Записи страницы в порядке inventory_id
+     */
+    private List<ProductInventoryDto> content;
+
+    /**
+     * Значение параметра after для следующей страницы, null для последней
+     */
+    private Long nextAfterId;
+}
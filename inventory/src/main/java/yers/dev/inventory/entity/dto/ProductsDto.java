@@ -18,4 +18,6 @@ public class ProductsDto {
 
     private Category category;
 
+    private long version;
+
 }
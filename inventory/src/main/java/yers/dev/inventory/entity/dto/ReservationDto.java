@@ -0,0 +1,24 @@
+package yers.dev.inventory.entity.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Резерв товара, который нужно подтвердить до {@code expiresAt}, иначе он вернётся на склад
+ */
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(name = "Reservation", description = "Резерв товара с ограниченным сроком жизни")
+public class ReservationDto {
+
+    private String reservationId;
+
+    private Long productId;
+
+    private Long quantity;
+
+    private Instant expiresAt;
+}
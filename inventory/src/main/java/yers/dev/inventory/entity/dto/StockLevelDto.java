@@ -0,0 +1,23 @@
+package yers.dev.inventory.entity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Остаток товара для read model сервиса products. {@code version} — версия строки inventory,
+ * по ней products отбрасывает устаревшие значения; {@code quantity} и {@code version}
+ * равны {@code null}, если складской записи больше нет.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDto {
+
+    private Long productId;
+
+    private Long quantity;
+
+    private Long version;
+
+}
@@ -0,0 +1,19 @@
+package yers.dev.inventory.entity.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Резерв, товар которого возвращается на склад.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReleaseDto {
+
+    @NotBlank
+    private String reservationId;
+
+}
@@ -0,0 +1,21 @@
+package yers.dev.inventory.entity.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Количество единиц товара, которое резервируется.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDto {
+
+    @NotNull
+    @Positive
+    private Long quantity;
+
+}
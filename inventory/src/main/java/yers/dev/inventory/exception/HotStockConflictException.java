@@ -0,0 +1,7 @@
+package yers.dev.inventory.exception;
+
+public class HotStockConflictException extends RuntimeException {
+    public HotStockConflictException(String message) {
+        super(message);
+    }
+}
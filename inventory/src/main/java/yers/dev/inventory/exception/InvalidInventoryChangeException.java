@@ -0,0 +1,7 @@
+package yers.dev.inventory.exception;
+
+public class InvalidInventoryChangeException extends RuntimeException {
+    public InvalidInventoryChangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package yers.dev.inventory.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static yers.dev.inventory.constants.InventoryConstants.*;
+
+/**
+ * Кладёт идентификатор корреляции из заголовка {@value yers.dev.inventory.constants.InventoryConstants#CORRELATION_ID},
+ * выставленного gateway, в MDC на время обработки запроса. Оттуда его берут логи
+ * и исходящие вызовы сервиса products, в том числе выполняемые в других потоках.
+ */
+@Component
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(CORRELATION_ID);
+        if (correlationId == null || correlationId.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CORRELATION_ID_MDC_KEY);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package yers.dev.inventory.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import yers.dev.inventory.entity.dto.InventoryDto;
 import yers.dev.inventory.entity.Inventory;
 
@@ -8,6 +9,8 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface InventoryMapper {
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "hotStockSegment", ignore = true)
     Inventory toInventory(InventoryDto inventoryDto);
     InventoryDto toInventoryDto(Inventory inventory);
     List<InventoryDto> toInventoryDto(List<Inventory> inventory);
@@ -1,13 +1,81 @@
 package yers.dev.inventory.repository;
 
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yers.dev.inventory.entity.Inventory;
+import yers.dev.inventory.entity.dto.InventoryDto;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
-    Optional<Inventory> findById(Long productId);
+    String INVENTORY_DTO_SELECT = "select new yers.dev.inventory.entity.dto.InventoryDto("
+            + "i.inventory_id, i.productId, i.quantity, i.warehouseLocation, i.version) from Inventory i";
+
+    Optional<Inventory> findByProductId(Long productId);
+
+    void deleteByProductId(Long productId);
+
+    List<Inventory> findByProductIdIn(Collection<Long> productIds);
+
+    /**
+     * Все остатки сразу в виде {@link InventoryDto}, минуя управляемые сущности.
+     */
+    @Query(INVENTORY_DTO_SELECT)
+    List<InventoryDto> findAllDtos();
+
+    /**
+     * Текущие остатки набора товаров одним {@code IN}-запросом; отсутствующие записи пропускаются.
+     */
+    @Query(INVENTORY_DTO_SELECT + " where i.productId in :productIds")
+    List<InventoryDto> findDtosByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Keyset-страница остатков: записи с идентификатором строго больше {@code afterId}.
+     */
+    @Query(INVENTORY_DTO_SELECT + " where i.inventory_id > :afterId order by i.inventory_id")
+    List<InventoryDto> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Атомарно списывает {@code amount} единиц одним условным UPDATE: строка меняется,
+     * только если остатка хватает, поэтому параллельные резервы не теряют обновлений
+     * и не уводят остаток в минус. Возвращает число изменённых строк (0 или 1).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = i.quantity - :amount, i.version = i.version + 1 "
+            + "where i.productId = :productId and i.quantity >= :amount")
+    int reserve(@Param("productId") Long productId, @Param("amount") long amount);
+
+    /**
+     * Атомарно возвращает {@code amount} единиц на склад. Возвращает число изменённых строк (0 или 1).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = coalesce(i.quantity, 0) + :amount, i.version = i.version + 1 "
+            + "where i.productId = :productId")
+    int release(@Param("productId") Long productId, @Param("amount") long amount);
+
+    /**
+     * Применяет суммарное изменение остатка из сегмента журнала горячих товаров.
+     * Сегмент, уже применённый к строке, повторно не учитывается.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory i set i.quantity = coalesce(i.quantity, 0) + :change, i.hotStockSegment = :segment, "
+            + "i.version = i.version + 1 where i.productId = :productId "
+            + "and (i.hotStockSegment is null or i.hotStockSegment < :segment)")
+    int applyHotStockChange(@Param("productId") Long productId, @Param("change") long change,
+                            @Param("segment") long segment);
+
+    @Query("select max(i.hotStockSegment) from Inventory i")
+    Long findMaxHotStockSegment();
 
 }
@@ -0,0 +1,21 @@
+package yers.dev.inventory.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import yers.dev.inventory.entity.Reservation;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, String> {
+
+    /**
+     * Удаляет резерв и возвращает число удалённых строк (0 или 1). Только тот, чей DELETE
+     * удалил строку, может вернуть товар на склад.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Reservation r where r.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") String reservationId);
+
+}
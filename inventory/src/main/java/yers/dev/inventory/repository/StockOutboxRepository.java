@@ -0,0 +1,20 @@
+package yers.dev.inventory.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import yers.dev.inventory.entity.StockOutboxEvent;
+
+import java.util.List;
+
+@Repository
+public interface StockOutboxRepository extends JpaRepository<StockOutboxEvent, Long> {
+
+    /**
+     * Самые старые неотправленные отметки — в порядке записи.
+     */
+    @Query("select e from StockOutboxEvent e order by e.id")
+    List<StockOutboxEvent> findOldest(Limit limit);
+
+}
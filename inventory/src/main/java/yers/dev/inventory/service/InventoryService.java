@@ -1,63 +1,297 @@
 package yers.dev.inventory.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import yers.dev.inventory.configuration.ProductBatchProperties;
+import yers.dev.inventory.entity.dto.InventoryChangeDto;
 import yers.dev.inventory.entity.dto.InventoryDto;
 import yers.dev.inventory.entity.dto.ProductInventoryDto;
+import yers.dev.inventory.entity.dto.ProductInventoryPageDto;
 import yers.dev.inventory.entity.dto.ProductsDto;
+import yers.dev.inventory.entity.dto.ReservationDto;
 import yers.dev.inventory.entity.Inventory;
+import yers.dev.inventory.entity.StockOutboxEvent;
+import yers.dev.inventory.exception.ExternalServiceUnavailableException;
+import yers.dev.inventory.exception.HotStockConflictException;
+import yers.dev.inventory.exception.InsufficientStockException;
+import yers.dev.inventory.exception.InvalidInventoryChangeException;
 import yers.dev.inventory.exception.ProductNotFoundException;
 import yers.dev.inventory.mapper.InventoryMapper;
 import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.repository.StockOutboxRepository;
+import yers.dev.inventory.service.client.CoalescingProductClient;
 import yers.dev.inventory.service.client.ProductFeignClient;
+import yers.dev.inventory.service.reservation.ReservationService;
+import yers.dev.inventory.service.stock.HotStockService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static yers.dev.inventory.constants.InventoryConstants.*;
 
 @Service
 @AllArgsConstructor
 public class InventoryService {
 
     private final ProductFeignClient productFeignClient;
+    private final CoalescingProductClient coalescingProductClient;
     private final InventoryRepository inventoryRepository;
+    private final StockOutboxRepository stockOutboxRepository;
     private final InventoryMapper inventoryMapper;
+    private final MeterRegistry meterRegistry;
+    private final ProductBatchProperties productBatchProperties;
+    private final HotStockService hotStockService;
+    private final ReservationService reservationService;
 
+    /**
+     * Складская запись вместе с данными товара. Запрос в сервис products стартует асинхронно
+     * до чтения из БД, поэтому задержка — большее из двух обращений, а не их сумма;
+     * ожидание ответа ограничено {@code inventory.product-batch.timeout}.
+     */
     public ProductInventoryDto fetchProduct(Long productId) {
-        InventoryDto inventoryDto = inventoryMapper.toInventoryDto(inventoryRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException(productId.toString())));
-        ResponseEntity<ProductsDto> productsDtoResponseEntity = productFeignClient.fetchProductDetails("correlationId",productId);
+        CompletableFuture<ProductsDto> product = coalescingProductClient.fetchProductDetails(productId)
+                .orTimeout(productBatchProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        InventoryDto inventoryDto = inventoryMapper.toInventoryDto(inventoryRepository.findByProductId(productId).orElseThrow(() -> new ProductNotFoundException(productId.toString())));
+        ProductsDto productsDto = awaitProduct(product);
+        if (productsDto == null) {
+            throw new ProductNotFoundException(productId.toString());
+        }
+        return toProductInventoryDto(inventoryDto, productsDto);
+
+    }
+
+    /**
+     * Складские записи вместе с данными товаров: данные всех товаров запрашиваются
+     * одним пакетным вызовом сервиса products. Товары без складской записи пропускаются.
+     */
+    public List<ProductInventoryDto> fetchProducts(List<Long> productIds) {
+        List<InventoryDto> inventoryDtos = inventoryMapper.toInventoryDto(inventoryRepository.findByProductIdIn(productIds));
+        return joinProducts(inventoryDtos);
+    }
+
+    /**
+     * Keyset-страница складских записей с данными товаров: одна выборка из БД и один пакетный
+     * вызов сервиса products на страницу. Время страницы пишется в таймер {@value DETAILS_PAGE_TIMER}
+     * с тегом размера страницы.
+     */
+    public ProductInventoryPageDto fetchProductsPage(long afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Timer timer = Timer.builder(DETAILS_PAGE_TIMER)
+                .description("Time to build one page of inventory rows joined with product data")
+                .tag("page.size", sizeBucket(pageSize))
+                .register(meterRegistry);
+        return timer.record(() -> {
+            List<InventoryDto> inventoryDtos = inventoryRepository.findPageAfter(afterId, Limit.of(pageSize + 1));
+            boolean hasNext = inventoryDtos.size() > pageSize;
+            List<InventoryDto> content = hasNext ? inventoryDtos.subList(0, pageSize) : inventoryDtos;
+            Long nextAfterId = hasNext ? content.get(content.size() - 1).getInventory_id() : null;
+            return new ProductInventoryPageDto(joinProducts(content), nextAfterId);
+        });
+    }
+
+    /**
+     * Размер страницы, округлённый вверх до одного из фиксированных значений,
+     * чтобы число временных рядов метрики не зависело от произвольных {@code size}.
+     */
+    private static String sizeBucket(int pageSize) {
+        for (int bucket : new int[]{10, 25, 50, 100, 250}) {
+            if (pageSize <= bucket) {
+                return String.valueOf(bucket);
+            }
+        }
+        return String.valueOf(MAX_PAGE_SIZE);
+    }
+
+    private static ProductsDto awaitProduct(CompletableFuture<ProductsDto> product) {
+        try {
+            return product.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ExternalServiceUnavailableException("Products service did not respond in time");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<ProductInventoryDto> joinProducts(List<InventoryDto> inventoryDtos) {
+        if (inventoryDtos.isEmpty()) {
+            return List.of();
+        }
+        List<Long> productIds = inventoryDtos.stream().map(InventoryDto::getProductId).toList();
+        ResponseEntity<List<ProductsDto>> response = productFeignClient.fetchProductDetailsBatch(MDC.get(CORRELATION_ID_MDC_KEY), productIds);
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new ExternalServiceUnavailableException("Products service is unavailable");
+        }
+        Map<Long, ProductsDto> products = response.getBody().stream()
+                .collect(Collectors.toMap(ProductsDto::getProduct_id, Function.identity()));
+        return inventoryDtos.stream()
+                .filter(inventoryDto -> products.containsKey(inventoryDto.getProductId()))
+                .map(inventoryDto -> toProductInventoryDto(inventoryDto, products.get(inventoryDto.getProductId())))
+                .toList();
+    }
+
+    private ProductInventoryDto toProductInventoryDto(InventoryDto inventoryDto, ProductsDto productsDto) {
         ProductInventoryDto productInventoryDto = new ProductInventoryDto();
         productInventoryDto.setProduct_inventory_id(inventoryDto.getInventory_id());
-        productInventoryDto.setName(productsDtoResponseEntity.getBody().getName());
-        productInventoryDto.setDescription(productsDtoResponseEntity.getBody().getDescription());
-        productInventoryDto.setPrice(productsDtoResponseEntity.getBody().getPrice());
-        productInventoryDto.setStock_quantity(inventoryDto.getQuantity());
-        productInventoryDto.setCategory(productsDtoResponseEntity.getBody().getCategory());
+        productInventoryDto.setProduct_id(inventoryDto.getProductId());
+        productInventoryDto.setName(productsDto.getName());
+        productInventoryDto.setDescription(productsDto.getDescription());
+        productInventoryDto.setPrice(productsDto.getPrice());
+        productInventoryDto.setStock_quantity(hotStockService.available(inventoryDto.getProductId()).orElse(inventoryDto.getQuantity()));
+        productInventoryDto.setCategory(productsDto.getCategory());
+        productInventoryDto.setWarehouseLocation(inventoryDto.getWarehouseLocation());
+        productInventoryDto.setInventoryVersion(inventoryDto.getVersion());
+        productInventoryDto.setProductVersion(productsDto.getVersion());
         return productInventoryDto;
-
     }
 
 
     public List<InventoryDto> fetchAllProducts() {
-        return inventoryMapper.toInventoryDto(inventoryRepository.findAll());
+        return inventoryRepository.findAllDtos();
     }
 
     @Transactional
     public void addInventory(@Valid InventoryDto inventoryDto) {
         inventoryRepository.save(inventoryMapper.toInventory(inventoryDto));
+        stockOutboxRepository.saveAll(StockOutboxEvent.of(List.of(inventoryDto.getProductId())));
     }
 
     @Transactional
     public void updateInventory(Long productId, InventoryDto inventoryDto) {
-        Inventory inventory = inventoryRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException(productId.toString()));
+        if (hotStockService.isHot(productId)) {
+            throw new HotStockConflictException("Stock of product " + productId + " is managed in memory; use reservations");
+        }
+        Inventory inventory = inventoryRepository.findByProductId(productId).orElseThrow(() -> new ProductNotFoundException(productId.toString()));
 
         inventory.setQuantity(inventoryDto.getQuantity());
         inventory.setWarehouseLocation(inventoryDto.getWarehouseLocation());
         inventoryRepository.save(inventory);
+        stockOutboxRepository.saveAll(StockOutboxEvent.of(List.of(productId)));
+    }
+
+    /**
+     * Резервирует {@code quantity} единиц товара условным UPDATE без чтения строки; строка
+     * резерва пишется в той же транзакции. Если остаток не изменился, отличаем отсутствующий
+     * товар от нехватки остатка. Горячие товары резервируются в памяти через {@link HotStockService},
+     * в БД пишется только строка резерва. Резерв, не подтверждённый за
+     * {@code inventory.reservation.ttl}, вернётся на склад.
+     */
+    public ReservationDto reserveStock(Long productId, long quantity) {
+        if (hotStockService.isHot(productId)) {
+            return reserveHotStock(productId, quantity);
+        }
+        ReservationDto reservation = reservationService.hold(productId, quantity, () -> {
+            if (inventoryRepository.reserve(productId, quantity) == 0) {
+                return false;
+            }
+            stockOutboxRepository.saveAll(StockOutboxEvent.of(List.of(productId)));
+            return true;
+        });
+        if (reservation == null) {
+            Inventory inventory = inventoryRepository.findByProductId(productId).orElseThrow(() -> new ProductNotFoundException(productId.toString()));
+            throw new InsufficientStockException("Not enough stock for product " + productId
+                    + ": requested " + quantity + ", available " + inventory.getQuantity());
+        }
+        return reservation;
+    }
+
+    /**
+     * Остаток горячего товара списывается в памяти до записи резерва; если резерв
+     * сохранить не удалось, списанное возвращается.
+     */
+    private ReservationDto reserveHotStock(Long productId, long quantity) {
+        hotStockService.reserve(productId, quantity);
+        try {
+            return reservationService.hold(productId, quantity, () -> true);
+        } catch (RuntimeException e) {
+            hotStockService.release(productId, quantity);
+            throw e;
+        }
+    }
+
+    public void confirmReservation(String reservationId) {
+        reservationService.confirm(reservationId);
+    }
+
+    public void cancelReservation(String reservationId) {
+        reservationService.cancel(reservationId);
+    }
+
+    /**
+     * Возвращает на склад товар резерва {@code reservationId}. Возврат привязан к резерву,
+     * поэтому товар не вернётся дважды вместе с отменой или истечением.
+     */
+    public void releaseStock(Long productId, String reservationId) {
+        reservationService.release(productId, reservationId);
+    }
+
+    /**
+     * Применяет пакет изменений из outbox сервиса products в одной транзакции. Для каждого товара
+     * берётся последнее изменение пакета; существующие записи читаются одним запросом.
+     * Изменения передают итоговое состояние, поэтому повторная доставка пакета ничего не ломает.
+     * Остаток горячих товаров ведётся в памяти и здесь не перезаписывается.
+     * Пакет с некорректным изменением отклоняется целиком, чтобы отправитель мог его найти.
+     */
+    @Transactional
+    public void applyChanges(List<InventoryChangeDto> changes) {
+        Map<Long, InventoryChangeDto> latest = new LinkedHashMap<>();
+        for (InventoryChangeDto change : changes) {
+            if (change.getProductId() == null) {
+                throw new InvalidInventoryChangeException("Inventory change without productId");
+            }
+            if (!change.isDeleted() && change.getQuantity() != null && change.getQuantity() < 0) {
+                throw new InvalidInventoryChangeException("Negative stock for product " + change.getProductId());
+            }
+            latest.put(change.getProductId(), change);
+        }
+
+        Map<Long, Inventory> existing = inventoryRepository.findByProductIdIn(latest.keySet()).stream()
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity()));
+        List<Inventory> upserts = new ArrayList<>();
+        List<Inventory> deletes = new ArrayList<>();
+        latest.forEach((productId, change) -> {
+            Inventory inventory = existing.get(productId);
+            if (change.isDeleted()) {
+                if (inventory != null) {
+                    deletes.add(inventory);
+                }
+                return;
+            }
+            if (inventory == null) {
+                inventory = new Inventory();
+                inventory.setProductId(productId);
+            }
+            if (!hotStockService.isHot(productId)) {
+                inventory.setQuantity(change.getQuantity());
+            }
+            inventory.setWarehouseLocation(change.getWarehouseLocation());
+            upserts.add(inventory);
+        });
+        inventoryRepository.deleteAllInBatch(deletes);
+        inventoryRepository.saveAll(upserts);
+        stockOutboxRepository.saveAll(StockOutboxEvent.of(latest.keySet()));
     }
 
     @Transactional
     public void deleteInventory(Long productId) {
-        inventoryRepository.deleteById(productId);
+        inventoryRepository.deleteByProductId(productId);
+        stockOutboxRepository.saveAll(StockOutboxEvent.of(List.of(productId)));
     }
 }
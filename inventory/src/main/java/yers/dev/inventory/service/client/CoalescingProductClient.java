@@ -0,0 +1,66 @@
+package yers.dev.inventory.service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import yers.dev.inventory.entity.dto.ProductsDto;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static yers.dev.inventory.constants.InventoryConstants.*;
+
+/**
+ * Single-flight обёртка над запросом товара: конкурентные запросы одного и того же товара
+ * ждут единственный запрос и получают его результат. Сам запрос уходит через
+ * {@link ProductBatchDispatcher}, который объединяет разные id в пакетные вызовы.
+ * Результат не кэшируется — запись удаляется сразу после завершения вызова,
+ * поэтому следующий запрос снова идёт в сервис. Вызывающий поток не блокируется.
+ */
+@Component
+public class CoalescingProductClient {
+
+    private final ProductBatchDispatcher productBatchDispatcher;
+    private final ConcurrentMap<Long, CompletableFuture<ProductsDto>> inFlight = new ConcurrentHashMap<>();
+    private final Counter remoteCalls;
+    private final Counter coalescedCalls;
+
+    public CoalescingProductClient(ProductBatchDispatcher productBatchDispatcher, MeterRegistry meterRegistry) {
+        this.productBatchDispatcher = productBatchDispatcher;
+        this.remoteCalls = Counter.builder(PRODUCT_FETCH_CALLS_METRIC)
+                .description("Product detail lookups forwarded to the batch dispatcher")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder(PRODUCT_FETCH_COALESCED_METRIC)
+                .description("Product detail lookups served by joining an in-flight call")
+                .register(meterRegistry);
+        Gauge.builder(PRODUCT_FETCH_IN_FLIGHT_METRIC, inFlight, ConcurrentMap::size)
+                .description("Product detail calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Future с данными товара; завершается {@code null}, если в сервисе products товара нет.
+     * Каждый вызывающий получает собственную копию общего future и может, например,
+     * ограничить её по времени, не затрагивая остальных.
+     */
+    public CompletableFuture<ProductsDto> fetchProductDetails(Long productId) {
+        CompletableFuture<ProductsDto> call = new CompletableFuture<>();
+        CompletableFuture<ProductsDto> existing = inFlight.putIfAbsent(productId, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return existing.copy();
+        }
+        remoteCalls.increment();
+        productBatchDispatcher.load(productId).whenComplete((product, error) -> {
+            inFlight.remove(productId, call);
+            if (error != null) {
+                call.completeExceptionally(error);
+            } else {
+                call.complete(product);
+            }
+        });
+        return call.copy();
+    }
+}
@@ -0,0 +1,169 @@
+package yers.dev.inventory.service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import yers.dev.inventory.configuration.ProductBatchProperties;
+import yers.dev.inventory.entity.dto.ProductsDto;
+import yers.dev.inventory.exception.ExternalServiceUnavailableException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static yers.dev.inventory.constants.InventoryConstants.*;
+
+/**
+ * DataLoader-подобный диспетчер запросов товаров: одиночные запросы копятся в течение окна
+ * {@link ProductBatchProperties#getWindow()} (или до {@link ProductBatchProperties#getMaxBatchSize()} id)
+ * и уходят в сервис products одним вызовом {@link ProductFeignClient#fetchProductDetailsBatch}.
+ * Повторные id внутри окна получают тот же future. Ненайденный товар завершает future значением {@code null}.
+ * Пакет уходит с идентификатором корреляции запроса, открывшего окно; остальные пишутся в debug-лог.
+ */
+@Component
+@Slf4j
+public class ProductBatchDispatcher {
+
+    private final ProductFeignClient productFeignClient;
+    private final ProductBatchProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("product-batch-timer").daemon().factory());
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("product-batch-sender-", 0).factory());
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter batchCalls;
+    private final DistributionSummary batchSizes;
+
+    private PendingBatch pending = new PendingBatch();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public ProductBatchDispatcher(ProductFeignClient productFeignClient, ProductBatchProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.productFeignClient = productFeignClient;
+        this.properties = properties;
+        this.batchCalls = Counter.builder(PRODUCT_BATCH_CALLS_METRIC)
+                .description("Batched product detail calls sent to the products service")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(PRODUCT_BATCH_SIZE_METRIC)
+                .description("Distinct product ids per batched call")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ProductsDto> load(Long productId) {
+        String correlationId = MDC.get(CORRELATION_ID_MDC_KEY);
+        PendingBatch batch = null;
+        CompletableFuture<ProductsDto> future;
+        lock.lock();
+        try {
+            if (correlationId != null) {
+                pending.correlationIds.add(correlationId);
+            }
+            future = pending.futures.get(productId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.futures.put(productId, future);
+            if (pending.futures.size() >= properties.getMaxBatchSize()) {
+                batch = drain();
+            } else if (pending.futures.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return future;
+    }
+
+    private void flush() {
+        PendingBatch batch;
+        lock.lock();
+        try {
+            if (pending.futures.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Забирает накопленное окно; вызывается под {@link #lock}.
+     */
+    private PendingBatch drain() {
+        PendingBatch batch = pending;
+        pending = new PendingBatch();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(PendingBatch batch) {
+        sender.execute(() -> send(batch));
+    }
+
+    private void send(PendingBatch batch) {
+        Map<Long, CompletableFuture<ProductsDto>> futures = batch.futures;
+        String correlationId = batch.correlationIds.isEmpty() ? null : batch.correlationIds.iterator().next();
+        if (correlationId != null) {
+            MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        }
+        batchCalls.increment();
+        batchSizes.record(futures.size());
+        try {
+            log.debug("Batched product lookup of {} ids for correlation ids {}", futures.size(), batch.correlationIds);
+            ResponseEntity<List<ProductsDto>> response =
+                    productFeignClient.fetchProductDetailsBatch(correlationId, new ArrayList<>(futures.keySet()));
+            if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                throw new ExternalServiceUnavailableException("Products service is unavailable");
+            }
+            Map<Long, ProductsDto> products = response.getBody().stream()
+                    .collect(Collectors.toMap(ProductsDto::getProduct_id, Function.identity()));
+            futures.forEach((productId, future) -> future.complete(products.get(productId)));
+        } catch (RuntimeException e) {
+            log.warn("Batched product lookup of {} ids failed: {}", futures.size(), e.getMessage());
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            MDC.remove(CORRELATION_ID_MDC_KEY);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        scheduler.shutdownNow();
+        sender.shutdown();
+    }
+
+    /**
+     * Накопленное окно: future по каждому id и идентификаторы корреляции запросивших его запросов.
+     */
+    private static final class PendingBatch {
+        private final Map<Long, CompletableFuture<ProductsDto>> futures = new LinkedHashMap<>();
+        private final Set<String> correlationIds = new LinkedHashSet<>();
+    }
+}
@@ -1,8 +1,12 @@
 package yers.dev.inventory.service.client;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import yers.dev.inventory.entity.dto.ProductsDto;
+import yers.dev.inventory.entity.dto.StockLevelDto;
+
+import java.util.List;
 
 @Component
 public class ProductFallbacks implements ProductFeignClient{
@@ -12,4 +16,14 @@ public class ProductFallbacks implements ProductFeignClient{
     public ResponseEntity<ProductsDto> fetchProductDetails(String correlationId, Long id) {
         return null;
     }
+
+    @Override
+    public ResponseEntity<List<ProductsDto>> fetchProductDetailsBatch(String correlationId, List<Long> ids) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    @Override
+    public ResponseEntity<Void> applyStockLevels(String correlationId, List<StockLevelDto> stockLevels) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
 }
@@ -4,11 +4,24 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import yers.dev.inventory.entity.dto.ProductsDto;
+import yers.dev.inventory.entity.dto.StockLevelDto;
 
-@FeignClient(name = "product", fallback = ProductFallbacks.class)
+import java.util.List;
+
+import static yers.dev.inventory.constants.InventoryConstants.CORRELATION_ID;
+
+@FeignClient(name = "products", fallback = ProductFallbacks.class)
 public interface ProductFeignClient {
     @GetMapping(value = "/api/products/fetch/{id}", consumes = "application/json")
-    ResponseEntity<ProductsDto> fetchProductDetails(@RequestHeader("correlationId") String correlationId, @PathVariable("id") Long id);
+    ResponseEntity<ProductsDto> fetchProductDetails(@RequestHeader(CORRELATION_ID) String correlationId, @PathVariable("id") Long id);
+
+    @PostMapping(value = "/api/products/fetch/batch", consumes = "application/json")
+    ResponseEntity<List<ProductsDto>> fetchProductDetailsBatch(@RequestHeader(CORRELATION_ID) String correlationId, @RequestBody List<Long> ids);
+
+    @PostMapping(value = "/api/products/stock", consumes = "application/json")
+    ResponseEntity<Void> applyStockLevels(@RequestHeader(CORRELATION_ID) String correlationId, @RequestBody List<StockLevelDto> stockLevels);
 }
\ No newline at end of file
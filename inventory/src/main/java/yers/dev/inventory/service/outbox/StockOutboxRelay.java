@@ -0,0 +1,203 @@
+package yers.dev.inventory.service.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import yers.dev.inventory.configuration.StockOutboxProperties;
+import yers.dev.inventory.entity.OutboxRelayLease;
+import yers.dev.inventory.entity.StockOutboxEvent;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.entity.dto.StockLevelDto;
+import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.repository.OutboxRelayLeaseRepository;
+import yers.dev.inventory.repository.StockOutboxRepository;
+import yers.dev.inventory.service.client.ProductFeignClient;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static yers.dev.inventory.constants.InventoryConstants.*;
+
+/**
+ * Передаёт изменённые остатки в read model сервиса products.
+ * <p>
+ * Каждое изменение остатка оставляет в stock_outbox отметку с id товара в той же транзакции.
+ * Relay читает отметки пачкой, схлопывает повторы одного товара и отправляет текущее состояние
+ * строк inventory вместе с их версией; products применяет значение, только если оно новее
+ * уже сохранённого, поэтому повторная или запоздавшая доставка безопасна. Отправленные
+ * отметки удаляются, при ошибке остаются и повторяются с экспоненциальной паузой.
+ * <p>
+ * Остаток горячих товаров попадает в БД раз в {@code inventory.hot-stock.flush-interval},
+ * и read model видит его с той же задержкой.
+ * <p>
+ * При нескольких экземплярах inventory отметки разбирает только держатель аренды в таблице
+ * outbox_relay_lease, как и relay сервиса products: остальные не читают отметки, поэтому
+ * одни и те же остатки не отправляются несколько раз. Аренда продлевается, пока владелец
+ * работает, освобождается при остановке, а после его падения переходит к другому экземпляру
+ * через {@link StockOutboxProperties#getLeaseDuration()}.
+ */
+@Component
+@Slf4j
+public class StockOutboxRelay {
+
+    private static final String LEASE_NAME = "stock-outbox";
+
+    private final StockOutboxRepository outboxRepository;
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final InventoryRepository inventoryRepository;
+    private final ProductFeignClient productFeignClient;
+    private final StockOutboxProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("stock-outbox-relay").daemon().factory());
+    private final Counter deliveredStockLevels;
+
+    private long backoffMillis;
+    private long retryAtNanos;
+    private boolean leaseHeld;
+    private long leaseRenewAtNanos;
+
+    public StockOutboxRelay(StockOutboxRepository outboxRepository, OutboxRelayLeaseRepository leaseRepository,
+                            InventoryRepository inventoryRepository, ProductFeignClient productFeignClient,
+                            StockOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.leaseRepository = leaseRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.productFeignClient = productFeignClient;
+        this.properties = properties;
+        this.backoffMillis = properties.getPollInterval().toMillis();
+        Gauge.builder(STOCK_OUTBOX_DEPTH_METRIC, outboxRepository, StockOutboxRepository::count)
+                .description("Stock changes not yet sent to the products read model")
+                .register(meterRegistry);
+        this.deliveredStockLevels = Counter.builder(STOCK_OUTBOX_DELIVERED_METRIC)
+                .description("Stock levels sent to the products read model")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        createLeaseIfMissing();
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Строка аренды создаётся миграцией, но схема может прийти и из Hibernate; одновременная
+     * вставка несколькими экземплярами безопасна — проигравший получает нарушение ключа.
+     */
+    private void createLeaseIfMissing() {
+        try {
+            if (!leaseRepository.existsById(LEASE_NAME)) {
+                leaseRepository.saveAndFlush(new OutboxRelayLease(LEASE_NAME, null, LocalDateTime.of(1970, 1, 1, 0, 0)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Stock outbox lease was created by another instance");
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+            leaseRepository.release(LEASE_NAME, instanceId, LocalDateTime.now());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Could not release the stock outbox lease: {}", e.getMessage());
+        }
+    }
+
+    void drain() {
+        if (System.nanoTime() < retryAtNanos) {
+            return;
+        }
+        try {
+            List<StockOutboxEvent> batch;
+            do {
+                if (!holdLease()) {
+                    return;
+                }
+                batch = outboxRepository.findOldest(Limit.of(properties.getBatchSize()));
+            } while (!batch.isEmpty() && send(batch) && batch.size() == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Stock outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Берёт или продлевает аренду outbox. Пока до её конца больше половины срока, в БД не ходим.
+     */
+    private boolean holdLease() {
+        long nowNanos = System.nanoTime();
+        if (leaseHeld && nowNanos < leaseRenewAtNanos) {
+            return true;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean held = leaseRepository.tryAcquire(LEASE_NAME, instanceId, now, now.plus(properties.getLeaseDuration())) > 0;
+        if (held != leaseHeld) {
+            log.info(held ? "This instance now relays the stock outbox" : "Stock outbox is relayed by another instance");
+        }
+        leaseHeld = held;
+        leaseRenewAtNanos = nowNanos + properties.getLeaseDuration().toNanos() / 2;
+        return held;
+    }
+
+    private boolean send(List<StockOutboxEvent> batch) {
+        List<Long> ids = batch.stream().map(StockOutboxEvent::getId).toList();
+        Set<Long> productIds = batch.stream().map(StockOutboxEvent::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        // отметки уже прочитаны, поэтому снимок строк содержит все изменения, которые они отмечают
+        Map<Long, InventoryDto> current = inventoryRepository.findDtosByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(InventoryDto::getProductId, Function.identity()));
+        List<StockLevelDto> levels = productIds.stream().map(productId -> {
+            InventoryDto inventory = current.get(productId);
+            return inventory == null
+                    ? new StockLevelDto(productId, null, null)
+                    : new StockLevelDto(productId, inventory.getQuantity(), inventory.getVersion());
+        }).toList();
+
+        String error;
+        try {
+            ResponseEntity<Void> response = productFeignClient.applyStockLevels(
+                    "stock-outbox-" + ids.get(0) + "-" + ids.get(ids.size() - 1), levels);
+            HttpStatusCode status = response == null ? null : response.getStatusCode();
+            if (status != null && status.is2xxSuccessful()) {
+                outboxRepository.deleteAllByIdInBatch(ids);
+                deliveredStockLevels.increment(levels.size());
+                backoffMillis = properties.getPollInterval().toMillis();
+                return true;
+            }
+            if (status != null && status.is4xxClientError()) {
+                // повтор того же пакета ничего не изменит, а следующие изменения всё равно принесут свежий остаток
+                log.error("Products rejected stock levels for {} with {}, dropping", productIds, status);
+                outboxRepository.deleteAllByIdInBatch(ids);
+                return true;
+            }
+            error = "Stock levels not accepted: " + (status == null ? "no response" : status);
+        } catch (RuntimeException e) {
+            error = String.valueOf(e.getMessage());
+        }
+        retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+        log.warn("Could not send {} stock levels, retrying in {} ms: {}", levels.size(), backoffMillis, error);
+        backoffMillis = Math.min(backoffMillis * 2, properties.getMaxBackoff().toMillis());
+        return false;
+    }
+}
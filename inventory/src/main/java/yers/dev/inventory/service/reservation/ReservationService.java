@@ -0,0 +1,290 @@
+package yers.dev.inventory.service.reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import yers.dev.inventory.configuration.ReservationProperties;
+import yers.dev.inventory.entity.Reservation;
+import yers.dev.inventory.entity.dto.ReservationDto;
+import yers.dev.inventory.exception.ProductNotFoundException;
+import yers.dev.inventory.exception.ResourceNotFoundException;
+import yers.dev.inventory.entity.StockOutboxEvent;
+import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.repository.ReservationRepository;
+import yers.dev.inventory.repository.StockOutboxRepository;
+import yers.dev.inventory.service.stock.HotStockService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static yers.dev.inventory.constants.InventoryConstants.*;
+
+/**
+ * Сроки жизни резервов. Каждый резерв попадает в {@link TimingWheel}, а не получает собственную
+ * задачу планировщика, поэтому миллионы открытых корзин стоят по одной записи в памяти.
+ * Раз в тик истёкшие резервы группируются по товару, и каждый товар возвращается на склад
+ * одним UPDATE в общей транзакции (горячие товары — через {@link HotStockService}).
+ * <p>
+ * Каждый резерв хранится строкой {@link Reservation}, которая пишется в одной транзакции
+ * со списанием остатка. При старте открытые резервы загружаются обратно в колесо, а уже
+ * истёкшие возвращаются на склад первым же тиком, так что перезапуск не теряет списанный товар.
+ * Вернуть товар может только тот, кто удалил строку резерва, поэтому подтверждение, отмена
+ * и истечение — в том числе на разных экземплярах — не возвращают один резерв дважды.
+ */
+@Service
+@Slf4j
+public class ReservationService {
+
+    private final ReservationProperties properties;
+    private final InventoryRepository inventoryRepository;
+    private final ReservationRepository reservationRepository;
+    private final StockOutboxRepository stockOutboxRepository;
+    private final HotStockService hotStockService;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<String, Hold> holds = new ConcurrentHashMap<>();
+    private final TimingWheel<Hold> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("reservation-expiry").daemon().factory());
+    private final AtomicLong expiryLagNanos = new AtomicLong();
+    private final Counter expiredReservations;
+
+    public ReservationService(ReservationProperties properties, InventoryRepository inventoryRepository,
+                              ReservationRepository reservationRepository, StockOutboxRepository stockOutboxRepository,
+                              HotStockService hotStockService, TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.inventoryRepository = inventoryRepository;
+        this.reservationRepository = reservationRepository;
+        this.stockOutboxRepository = stockOutboxRepository;
+        this.hotStockService = hotStockService;
+        this.transactionTemplate = transactionTemplate;
+        this.wheel = new TimingWheel<>(properties.getTick().toNanos(), properties.getWheelSize(), System.nanoTime());
+        Gauge.builder(RESERVATIONS_PENDING_METRIC, holds, Map::size)
+                .description("Reservations waiting for confirmation or expiry")
+                .register(meterRegistry);
+        TimeGauge.builder(RESERVATIONS_EXPIRY_LAG_METRIC, expiryLagNanos, TimeUnit.NANOSECONDS, AtomicLong::doubleValue)
+                .description("How late the last expired reservation was returned to stock")
+                .register(meterRegistry);
+        this.expiredReservations = Counter.builder(RESERVATIONS_EXPIRED_METRIC)
+                .description("Reservations returned to stock after their ttl")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Загружает открытые резервы, оставшиеся после прошлого запуска, и запускает колесо.
+     */
+    @PostConstruct
+    void start() {
+        List<Reservation> open = reservationRepository.findAll();
+        open.forEach(reservation -> track(toHold(reservation)));
+        if (!open.isEmpty()) {
+            log.info("Loaded {} open reservations", open.size());
+        }
+        long tickNanos = properties.getTick().toNanos();
+        ticker.scheduleWithFixedDelay(this::expire, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Списывает товар через {@code debit} и в той же транзакции сохраняет резерв со сроком
+     * подтверждения. Возвращает {@code null}, если {@code debit} ничего не списал.
+     */
+    public ReservationDto hold(Long productId, long quantity, BooleanSupplier debit) {
+        Instant expiresAt = Instant.now().plus(properties.getTtl());
+        long deadlineNanos = System.nanoTime() + properties.getTtl().toNanos();
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), productId, quantity,
+                LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        boolean held = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!debit.getAsBoolean()) {
+                return false;
+            }
+            reservationRepository.save(reservation);
+            return true;
+        }));
+        if (!held) {
+            return null;
+        }
+        track(new Hold(reservation.getReservationId(), productId, quantity, deadlineNanos));
+        return new ReservationDto(reservation.getReservationId(), productId, quantity, expiresAt);
+    }
+
+    /**
+     * Подтверждает резерв: товар остаётся списанным и больше не вернётся на склад по сроку.
+     */
+    public void confirm(String reservationId) {
+        Integer deleted = transactionTemplate.execute(status -> reservationRepository.deleteByReservationId(reservationId));
+        holds.remove(reservationId);
+        if (deleted == null || deleted == 0) {
+            throw new ResourceNotFoundException("Reservation", "reservationId", reservationId);
+        }
+    }
+
+    /**
+     * Отменяет резерв и сразу возвращает товар на склад. Если вернуть не удалось,
+     * резерв остаётся в силе и вернётся на склад по сроку.
+     */
+    public void cancel(String reservationId) {
+        cancel(reservationId, null);
+    }
+
+    /**
+     * То же, что {@link #cancel(String)}, но только для резерва товара {@code productId}:
+     * резерв другого товара считается ненайденным.
+     */
+    public void release(Long productId, String reservationId) {
+        cancel(reservationId, productId);
+    }
+
+    private void cancel(String reservationId, Long expectedProductId) {
+        Hold hold = holds.get(reservationId);
+        if (hold == null) {
+            hold = reservationRepository.findById(reservationId).map(ReservationService::toHold)
+                    .orElseThrow(() -> new ResourceNotFoundException("Reservation", "reservationId", reservationId));
+        }
+        if (expectedProductId != null && !expectedProductId.equals(hold.productId())) {
+            throw new ResourceNotFoundException("Reservation", "reservationId", reservationId);
+        }
+        holds.remove(reservationId);
+        Hold cancelled = hold;
+        Integer claimed;
+        try {
+            claimed = transactionTemplate.execute(status -> claimAndRelease(cancelled.productId(), List.of(cancelled)));
+        } catch (RuntimeException e) {
+            track(cancelled);
+            throw new IllegalStateException("Could not return reservation " + reservationId
+                    + " to stock; it stays held until it expires", e);
+        }
+        if (claimed == null || claimed == 0) {
+            throw new ResourceNotFoundException("Reservation", "reservationId", reservationId);
+        }
+    }
+
+    void expire() {
+        long now = System.nanoTime();
+        List<Hold> expired = wheel.advance(now).stream()
+                .filter(hold -> holds.remove(hold.id(), hold))
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+        List<Hold> failed = releaseAll(expired);
+        if (!failed.isEmpty()) {
+            log.warn("Could not return {} of {} expired reservations to stock, retrying next tick", failed.size(), expired.size());
+            failed.forEach(hold -> {
+                holds.put(hold.id(), hold);
+                wheel.schedule(hold, now);
+            });
+        }
+        Set<Hold> retried = Set.copyOf(failed);
+        List<Hold> returned = expired.stream().filter(hold -> !retried.contains(hold)).toList();
+        if (returned.isEmpty()) {
+            return;
+        }
+        expiredReservations.increment(returned.size());
+        expiryLagNanos.set(now - returned.stream().mapToLong(Hold::deadlineNanos).min().orElse(now));
+    }
+
+    /**
+     * Возвращает резервы на склад и отдаёт те, что вернуть не удалось; повторять нужно только их.
+     * Обычные товары возвращаются одной транзакцией, по одному UPDATE на товар: при откате
+     * не возвращён ни один из них. Горячие — каждый товар своей транзакцией, так что сбой
+     * одного горячего товара не заставляет повторять уже зачисленные резервы.
+     */
+    private List<Hold> releaseAll(List<Hold> toRelease) {
+        Map<Boolean, Map<Long, List<Hold>>> byProduct = toRelease.stream().collect(Collectors.partitioningBy(
+                hold -> hotStockService.isHot(hold.productId()), Collectors.groupingBy(Hold::productId)));
+        List<Hold> failed = new ArrayList<>();
+
+        Map<Long, List<Hold>> regular = byProduct.get(false);
+        if (!regular.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> regular.forEach(this::claimAndRelease));
+            } catch (RuntimeException e) {
+                log.warn("Could not return reserved stock of products {}: {}", regular.keySet(), e.getMessage());
+                regular.values().forEach(failed::addAll);
+            }
+        }
+
+        byProduct.get(true).forEach((productId, holds) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> claimAndRelease(productId, holds));
+            } catch (RuntimeException e) {
+                log.warn("Could not return reserved stock of hot product {}: {}", productId, e.getMessage());
+                failed.addAll(holds);
+            }
+        });
+        return failed;
+    }
+
+    /**
+     * Удаляет строки резервов одного товара и возвращает на склад столько, сколько держали
+     * удалённые строки. Резервы, чьих строк уже нет (подтверждены или возвращены раньше),
+     * пропускаются. Вызывается внутри транзакции и возвращает число удалённых резервов.
+     * Резерв товара, складской записи которого больше нет, возвращать некуда — он просто снимается.
+     */
+    private int claimAndRelease(Long productId, List<Hold> holds) {
+        int claimed = 0;
+        long quantity = 0;
+        for (Hold hold : holds) {
+            if (reservationRepository.deleteByReservationId(hold.id()) > 0) {
+                claimed++;
+                quantity += hold.quantity();
+            }
+        }
+        if (quantity == 0) {
+            return claimed;
+        }
+        if (hotStockService.isHot(productId)) {
+            try {
+                hotStockService.release(productId, quantity);
+            } catch (ProductNotFoundException e) {
+                log.warn("Dropping {} reservations of product {} without an inventory row", claimed, productId);
+            }
+        } else if (inventoryRepository.release(productId, quantity) > 0) {
+            stockOutboxRepository.saveAll(StockOutboxEvent.of(List.of(productId)));
+        }
+        return claimed;
+    }
+
+    private void track(Hold hold) {
+        holds.put(hold.id(), hold);
+        wheel.schedule(hold, hold.deadlineNanos());
+    }
+
+    private static Hold toHold(Reservation reservation) {
+        long remainingNanos = Duration.between(LocalDateTime.now(), reservation.getExpiresAt()).toNanos();
+        return new Hold(reservation.getReservationId(), reservation.getProductId(), reservation.getQuantity(),
+                System.nanoTime() + remainingNanos);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        if (!holds.isEmpty()) {
+            log.info("Shutting down with {} unconfirmed reservations; they are reloaded on the next start", holds.size());
+        }
+    }
+
+    private record Hold(String id, Long productId, long quantity, long deadlineNanos) {
+    }
+}
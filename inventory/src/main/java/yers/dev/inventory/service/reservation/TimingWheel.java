@@ -0,0 +1,85 @@
+package yers.dev.inventory.service.reservation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Хешированное колесо таймеров: {@code wheelSize} корзин по {@code tickNanos} каждая.
+ * Срок дальше одного оборота хранится вместе с числом оставшихся оборотов, поэтому
+ * добавление и срабатывание стоят O(1) независимо от числа таймеров.
+ * <p>
+ * {@link #schedule} можно вызывать из любых потоков: новые таймеры копятся в очереди
+ * и раскладываются по корзинам в {@link #advance}, который вызывает один поток.
+ */
+final class TimingWheel<T> {
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final List<ArrayDeque<Timeout<T>>> buckets;
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+
+    private long currentTick;
+
+    TimingWheel(long tickNanos, int wheelSize, long startNanos) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+    }
+
+    void schedule(T item, long deadlineNanos) {
+        incoming.add(new Timeout<>(item, deadlineNanos));
+    }
+
+    /**
+     * Проворачивает колесо до момента {@code nowNanos} и возвращает все истёкшие элементы.
+     */
+    List<T> advance(long nowNanos) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        while (currentTick <= targetTick) {
+            transferIncoming();
+            Iterator<Timeout<T>> bucket = buckets.get((int) (currentTick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Timeout<T> timeout = bucket.next();
+                if (timeout.remainingRounds <= 0) {
+                    bucket.remove();
+                    expired.add(timeout.item);
+                } else {
+                    timeout.remainingRounds--;
+                }
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    private void transferIncoming() {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            long deadlineTick = Math.max((timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos, currentTick);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.size();
+            buckets.get((int) (deadlineTick & mask)).add(timeout);
+        }
+    }
+
+    private static final class Timeout<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package yers.dev.inventory.service.stock;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Журнал изменений остатка горячих товаров, разбитый на сегменты {@code segment-<номер>.log}.
+ * Каждая строка — {@code <productId> <изменение>}. Строки копятся в буфере и вместе уходят
+ * на диск в {@link #sync()}, который заканчивается {@link FileChannel#force(boolean)}: после него
+ * запись переживает и падение процесса, и отключение питания. Сегмент удаляется,
+ * когда его изменения записаны в БД.
+ */
+final class HotStockJournal implements Closeable {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private long segment;
+    private FileChannel channel;
+    private OutputStream out;
+
+    HotStockJournal(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        open();
+    }
+
+    void append(long productId, long change) throws IOException {
+        out.write((productId + " " + change + "\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Сбрасывает все добавленные строки на диск.
+     */
+    void sync() throws IOException {
+        out.flush();
+        channel.force(false);
+    }
+
+    /**
+     * Закрывает текущий сегмент и открывает следующий. Возвращает номер закрытого сегмента.
+     */
+    long rotate() throws IOException {
+        long closed = segment;
+        closeSegment();
+        segment++;
+        open();
+        return closed;
+    }
+
+    static void delete(Path directory, long segment) throws IOException {
+        Files.deleteIfExists(segmentPath(directory, segment));
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    /**
+     * Номера сегментов, оставшихся в каталоге после прошлого запуска, по возрастанию.
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Суммарное изменение остатка по каждому товару в сегменте. Недописанная последняя строка пропускается.
+     */
+    static Map<Long, Long> read(Path directory, long segment) throws IOException {
+        Map<Long, Long> changes = new HashMap<>();
+        for (String line : Files.readAllLines(segmentPath(directory, segment), StandardCharsets.US_ASCII)) {
+            String[] parts = line.split(" ");
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                changes.merge(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long::sum);
+            } catch (NumberFormatException e) {
+                // оборванная при падении строка
+            }
+        }
+        return changes;
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(segmentPath(directory, segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        out = new BufferedOutputStream(Channels.newOutputStream(channel));
+    }
+
+    private void closeSegment() throws IOException {
+        out.flush();
+        channel.force(false);
+        out.close();
+    }
+
+    private static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%019d%s", PREFIX, segment, SUFFIX));
+    }
+}
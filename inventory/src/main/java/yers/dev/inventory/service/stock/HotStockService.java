@@ -0,0 +1,300 @@
+package yers.dev.inventory.service.stock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import yers.dev.inventory.configuration.HotStockProperties;
+import yers.dev.inventory.entity.Inventory;
+import yers.dev.inventory.exception.InsufficientStockException;
+import yers.dev.inventory.exception.ProductNotFoundException;
+import yers.dev.inventory.entity.StockOutboxEvent;
+import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.repository.StockOutboxRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Резервирование горячих товаров в памяти ({@code inventory.hot-stock}). Остаток товара загружается
+ * из БД при первом обращении и дальше ведётся в {@link StripedStockCounter}; каждое изменение
+ * попадает на диск в {@link HotStockJournal} до ответа клиенту. Раз в {@link HotStockProperties#getFlushInterval()}
+ * журнал ротируется, а накопленная разница по товарам пишется в таблицу inventory одной транзакцией.
+ * <p>
+ * Журналом владеет один поток, и вызовы не берут общих блокировок: изменение кладётся в очередь,
+ * поток забирает всё накопившееся, пишет одним пакетом, делает один {@code force} и только
+ * потом отпускает ожидающих. Под нагрузкой на один fsync приходится много резервов,
+ * а резервы разных товаров и полос не ждут друг друга.
+ * <p>
+ * Строка inventory помнит номер последнего применённого сегмента, поэтому повторное применение
+ * сегмента — после сбоя БД или при восстановлении после падения — ничего не меняет.
+ */
+@Service
+@Slf4j
+public class HotStockService {
+
+    private final HotStockProperties properties;
+    private final InventoryRepository inventoryRepository;
+    private final StockOutboxRepository stockOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final BlockingQueue<JournalRequest> journalRequests = new LinkedBlockingQueue<>();
+    private final Deque<Segment> unapplied = new ArrayDeque<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("hot-stock-flush").daemon().factory());
+
+    /** Журнал и накопленные изменения его текущего сегмента — только в потоке журнала */
+    private HotStockJournal journal;
+    private Map<Long, Long> changes = new HashMap<>();
+    private Thread journalWriter;
+
+    public HotStockService(HotStockProperties properties, InventoryRepository inventoryRepository,
+                           StockOutboxRepository stockOutboxRepository, TransactionTemplate transactionTemplate) {
+        this.properties = properties;
+        this.inventoryRepository = inventoryRepository;
+        this.stockOutboxRepository = stockOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(properties.getJournalDirectory());
+        long lastSegment = recover();
+        journal = new HotStockJournal(properties.getJournalDirectory(), lastSegment + 1);
+        journalWriter = Thread.ofPlatform().name("hot-stock-journal").daemon().start(this::writeJournal);
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Hot stock mode enabled for products {}", properties.getProductIds());
+    }
+
+    public boolean isHot(Long productId) {
+        return properties.isEnabled() && properties.getProductIds().contains(productId);
+    }
+
+    /**
+     * Остаток горячего товара в памяти, если он уже загружен.
+     */
+    public OptionalLong available(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.available());
+    }
+
+    public void reserve(Long productId, long quantity) {
+        StripedStockCounter counter = counter(productId);
+        if (!counter.tryReserve(quantity)) {
+            throw new InsufficientStockException("Not enough stock for product " + productId
+                    + ": requested " + quantity + ", available " + counter.available());
+        }
+        try {
+            record(productId, -quantity);
+        } catch (IOException e) {
+            counter.release(quantity);
+            throw new UncheckedIOException("Could not journal stock reservation for product " + productId, e);
+        }
+    }
+
+    public void release(Long productId, long quantity) {
+        StripedStockCounter counter = counter(productId);
+        try {
+            record(productId, quantity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal stock release for product " + productId, e);
+        }
+        counter.release(quantity);
+    }
+
+    /**
+     * Ротирует журнал и пишет в БД все ещё не применённые сегменты по порядку.
+     * Если БД недоступна, сегменты остаются в очереди и в журнале до следующего раза.
+     */
+    void flush() {
+        CompletableFuture<Segment> rotated = new CompletableFuture<>();
+        journalRequests.add(new Rotate(rotated));
+        try {
+            Segment segment = rotated.join();
+            if (segment != null) {
+                unapplied.add(segment);
+            }
+        } catch (CompletionException e) {
+            log.warn("Could not rotate hot stock journal: {}", e.getCause().getMessage());
+        }
+        while (!unapplied.isEmpty()) {
+            Segment segment = unapplied.peek();
+            try {
+                apply(segment);
+                HotStockJournal.delete(properties.getJournalDirectory(), segment.number());
+                unapplied.poll();
+            } catch (RuntimeException | IOException e) {
+                log.warn("Could not write hot stock segment {} to the database: {}", segment.number(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+        scheduler.shutdown();
+        if (journal == null) {
+            return;
+        }
+        scheduler.awaitTermination(properties.getFlushInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+        flush();
+        journalRequests.add(new Stop());
+        journalWriter.join();
+        journal.close();
+    }
+
+    private StripedStockCounter counter(Long productId) {
+        return counters.computeIfAbsent(productId, id -> {
+            Inventory inventory = inventoryRepository.findByProductId(id)
+                    .orElseThrow(() -> new ProductNotFoundException(id.toString()));
+            long quantity = inventory.getQuantity() == null ? 0 : inventory.getQuantity();
+            return new StripedStockCounter(properties.getStripes(), quantity);
+        });
+    }
+
+    /**
+     * Ставит изменение в очередь журнала и ждёт, пока поток журнала сбросит его на диск.
+     */
+    private void record(Long productId, long change) throws IOException {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        journalRequests.add(new Append(productId, change, written));
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Цикл потока журнала: забирает все накопившиеся запросы и пишет их одним пакетом.
+     */
+    private void writeJournal() {
+        List<JournalRequest> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(journalRequests.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            journalRequests.drainTo(batch);
+            List<Append> appends = new ArrayList<>();
+            for (JournalRequest request : batch) {
+                switch (request) {
+                    case Append append -> appends.add(append);
+                    case Rotate rotate -> {
+                        commit(appends);
+                        appends.clear();
+                        rotate(rotate.rotated());
+                    }
+                    case Stop stop -> {
+                        commit(appends);
+                        return;
+                    }
+                }
+            }
+            commit(appends);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Пишет пакет изменений в текущий сегмент и одним {@code force} сбрасывает его на диск;
+     * только после этого изменения учитываются в сегменте и ожидающие вызовы отпускаются.
+     */
+    private void commit(List<Append> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        try {
+            for (Append append : appends) {
+                journal.append(append.productId(), append.change());
+            }
+            journal.sync();
+        } catch (IOException e) {
+            appends.forEach(append -> append.written().completeExceptionally(e));
+            return;
+        }
+        for (Append append : appends) {
+            changes.merge(append.productId(), append.change(), Long::sum);
+            append.written().complete(null);
+        }
+    }
+
+    private void rotate(CompletableFuture<Segment> rotated) {
+        if (changes.isEmpty()) {
+            rotated.complete(null);
+            return;
+        }
+        try {
+            rotated.complete(new Segment(journal.rotate(), changes));
+            changes = new HashMap<>();
+        } catch (IOException e) {
+            rotated.completeExceptionally(e);
+        }
+    }
+
+    private void apply(Segment segment) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> changed = new ArrayList<>();
+            segment.changes().forEach((productId, change) -> {
+                if (change != 0 && inventoryRepository.applyHotStockChange(productId, change, segment.number()) > 0) {
+                    changed.add(productId);
+                }
+            });
+            stockOutboxRepository.saveAll(StockOutboxEvent.of(changed));
+        });
+    }
+
+    /**
+     * Применяет сегменты, оставшиеся после прошлого запуска, и возвращает номер последнего известного сегмента.
+     */
+    private long recover() throws IOException {
+        Long appliedSegment = inventoryRepository.findMaxHotStockSegment();
+        long lastSegment = appliedSegment == null ? 0 : appliedSegment;
+        List<Long> segments = HotStockJournal.segments(properties.getJournalDirectory());
+        for (long number : segments) {
+            Segment segment = new Segment(number, HotStockJournal.read(properties.getJournalDirectory(), number));
+            apply(segment);
+            HotStockJournal.delete(properties.getJournalDirectory(), number);
+            lastSegment = Math.max(lastSegment, number);
+            log.info("Recovered hot stock journal segment {} for products {}", number, segment.changes().keySet());
+        }
+        return lastSegment;
+    }
+
+    private record Segment(long number, Map<Long, Long> changes) {
+    }
+
+    private sealed interface JournalRequest permits Append, Rotate, Stop {
+    }
+
+    private record Append(long productId, long change, CompletableFuture<Void> written) implements JournalRequest {
+    }
+
+    private record Rotate(CompletableFuture<Segment> rotated) implements JournalRequest {
+    }
+
+    private record Stop() implements JournalRequest {
+    }
+}
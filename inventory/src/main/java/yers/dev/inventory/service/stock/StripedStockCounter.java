@@ -0,0 +1,76 @@
+package yers.dev.inventory.service.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Остаток одного товара, разбитый на полосы. Поток резервирует из «своей» полосы,
+ * при нехватке — из соседних; только если ни одна полоса не покрывает запрос целиком,
+ * все полосы под общей блокировкой сливаются в одну. Поэтому параллельные резервы
+ * обычно меняют разные ячейки и не конкурируют за одну.
+ */
+final class StripedStockCounter {
+
+    /** Ячейки полос разнесены на 64 байта, чтобы соседние полосы не делили кэш-линию */
+    private static final int PADDING = 8;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    StripedStockCounter(int stripes, long initial) {
+        this.stripes = Math.max(stripes, 1);
+        this.cells = new AtomicLongArray(this.stripes * PADDING);
+        long share = initial / this.stripes;
+        for (int stripe = 0; stripe < this.stripes; stripe++) {
+            cells.set(stripe * PADDING, share);
+        }
+        cells.addAndGet(0, initial - share * this.stripes);
+    }
+
+    boolean tryReserve(long amount) {
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake((home + i) % stripes, amount)) {
+                return true;
+            }
+        }
+        return rebalanceAndTake(home, amount);
+    }
+
+    void release(long amount) {
+        cells.addAndGet(homeStripe() * PADDING, amount);
+    }
+
+    long available() {
+        long total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += cells.get(stripe * PADDING);
+        }
+        return total;
+    }
+
+    private boolean tryTake(int stripe, long amount) {
+        int index = stripe * PADDING;
+        long current;
+        do {
+            current = cells.get(index);
+            if (current < amount) {
+                return false;
+            }
+        } while (!cells.compareAndSet(index, current, current - amount));
+        return true;
+    }
+
+    private synchronized boolean rebalanceAndTake(int home, long amount) {
+        long total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += cells.getAndSet(stripe * PADDING, 0);
+        }
+        boolean reserved = total >= amount;
+        cells.addAndGet(home * PADDING, reserved ? total - amount : total);
+        return reserved;
+    }
+
+    private int homeStripe() {
+        return (int) Math.floorMod(Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32, stripes);
+    }
+}
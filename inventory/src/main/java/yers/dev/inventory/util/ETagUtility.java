@@ -0,0 +1,41 @@
+package yers.dev.inventory.util;
+
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.entity.dto.ProductInventoryDto;
+
+import java.util.List;
+
+/**
+ * Построение сильных ETag для ответов склада.
+ * Значение зависит только от идентификаторов и версий ({@code @Version}) записей,
+ * поэтому вычисляется без сериализации тела ответа.
+ */
+public final class ETagUtility {
+
+    private ETagUtility() {
+    }
+
+    /**
+     * ETag карточки товара на складе: версия складской записи, версия товара и показанный остаток.
+     * Остаток горячего товара берётся из памяти и меняется без изменения версии записи
+     * до очередного сброса журнала, поэтому учитывается отдельно.
+     */
+    public static String forProductInventory(ProductInventoryDto productInventoryDto) {
+        return "\"" + productInventoryDto.getProduct_inventory_id()
+                + "-" + productInventoryDto.getInventoryVersion()
+                + "-" + productInventoryDto.getProductVersion()
+                + "-" + productInventoryDto.getStock_quantity() + "\"";
+    }
+
+    /**
+     * ETag списка остатков: отпечаток пар (идентификатор, версия) в порядке выдачи.
+     */
+    public static String forInventories(List<InventoryDto> inventories) {
+        long hash = 1125899906842597L;
+        for (InventoryDto inventory : inventories) {
+            hash = 31 * hash + inventory.getInventory_id();
+            hash = 31 * hash + (inventory.getVersion() == null ? 0 : inventory.getVersion());
+        }
+        return "\"" + inventories.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,8 @@
+CREATE SEQUENCE IF NOT EXISTS inventory_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inventory (
+                           inventory_id BIGINT PRIMARY KEY,
+                           product_id BIGINT UNIQUE,
+                           quantity BIGINT,
+                           warehouse_location VARCHAR(255)
+);
@@ -0,0 +1,2 @@
+-- Номер версии для оптимистичной блокировки и ETag; существующие строки получают версию 0
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
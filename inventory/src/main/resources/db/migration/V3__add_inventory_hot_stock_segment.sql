@@ -0,0 +1,2 @@
+-- Последний применённый сегмент журнала горячих товаров; защищает от повторного применения при восстановлении
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS hot_stock_segment BIGINT;
@@ -0,0 +1,9 @@
+-- Товары, остаток которых изменился и ещё не передан в read model сервиса products;
+-- пишутся в одной транзакции с изменением остатка
+CREATE SEQUENCE IF NOT EXISTS stock_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stock_outbox (
+    id BIGINT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,7 @@
+-- До V1 складская запись была связана с товаром неявно: inventory_id совпадал с product_id.
+-- На существующей базе V1 ничего не создаёт, поэтому колонку добавляем и заполняем здесь,
+-- а пул идентификаторов сдвигаем за уже занятые inventory_id.
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS product_id BIGINT;
+UPDATE inventory SET product_id = inventory_id WHERE product_id IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_inventory_product_id ON inventory (product_id);
+SELECT setval('inventory_seq', (SELECT COALESCE(MAX(inventory_id), 0) + 1 FROM inventory));
@@ -0,0 +1,8 @@
+-- Неподтверждённые резервы: строка пишется в одной транзакции со списанием остатка
+-- и удаляется при подтверждении, отмене или возврате товара по сроку
+CREATE TABLE IF NOT EXISTS reservation (
+    reservation_id VARCHAR(36) PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,79 @@
+package yers.dev.inventory.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.exception.InsufficientStockException;
+import yers.dev.inventory.repository.InventoryRepository;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка резервирования: сотни параллельных покупателей одного товара.
+ * Остаток не должен уйти в минус, а число успешных резервов должно точно совпасть с запасом.
+ * Запускается только явно: {@code mvn test -Dtest=StockReservationContentionTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockReservationContentionTest {
+
+    private static final long PRODUCT_ID = 900_001L;
+    private static final long INITIAL_STOCK = 1_000;
+    private static final long UNITS_PER_RESERVATION = 3;
+    private static final int RESERVERS = 500;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void concurrentReservationsNeverOversell() throws InterruptedException {
+        inventoryService.addInventory(new InventoryDto(null, PRODUCT_ID, INITIAL_STOCK, "A-1", null));
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long began;
+        long elapsed;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < RESERVERS; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        inventoryService.reserveStock(PRODUCT_ID, UNITS_PER_RESERVATION);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+            elapsed = System.nanoTime() - began;
+        }
+
+        long remaining = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity();
+        System.out.printf("%d reservers: %d reserved, %d rejected, %d left, %.1f ms, %.0f reservations/s%n",
+                RESERVERS, reserved.get(), rejected.get(), remaining,
+                elapsed / 1e6, RESERVERS / (elapsed / 1e9));
+
+        assertEquals(INITIAL_STOCK / UNITS_PER_RESERVATION, reserved.get());
+        assertEquals(RESERVERS - reserved.get(), rejected.get());
+        assertEquals(INITIAL_STOCK % UNITS_PER_RESERVATION, remaining);
+    }
+}
@@ -0,0 +1,93 @@
+package yers.dev.inventory.service.reservation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.entity.dto.ReservationDto;
+import yers.dev.inventory.exception.ResourceNotFoundException;
+import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.repository.ReservationRepository;
+import yers.dev.inventory.service.InventoryService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Резервы с коротким сроком: истёкший резерв возвращается на склад ровно один раз,
+ * а отменённый или подтверждённый до срока истечением уже не затрагивается.
+ */
+@SpringBootTest(properties = {
+        "inventory.reservation.ttl=300ms",
+        "inventory.reservation.tick=20ms"
+})
+class ReservationExpiryTest {
+
+    private static final long WAIT_MILLIS = 5_000;
+    private static final long PAST_TTL_MILLIS = 600;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Test
+    void expiredReservationReturnsStockOnceAndCannotBeCancelledLater() throws InterruptedException {
+        long productId = 900_101L;
+        inventoryService.addInventory(new InventoryDto(null, productId, 10L, "R-1", null));
+
+        ReservationDto reservation = inventoryService.reserveStock(productId, 4);
+        assertEquals(6L, quantity(productId));
+        awaitQuantity(productId, 10L);
+        assertFalse(reservationRepository.existsById(reservation.getReservationId()));
+
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.cancelReservation(reservation.getReservationId()));
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.releaseStock(productId, reservation.getReservationId()));
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.confirmReservation(reservation.getReservationId()));
+        assertEquals(10L, quantity(productId));
+    }
+
+    @Test
+    void cancelledReservationIsNotReturnedAgainOnExpiry() throws InterruptedException {
+        long productId = 900_102L;
+        inventoryService.addInventory(new InventoryDto(null, productId, 10L, "R-2", null));
+
+        ReservationDto reservation = inventoryService.reserveStock(productId, 4);
+        inventoryService.cancelReservation(reservation.getReservationId());
+        assertEquals(10L, quantity(productId));
+
+        Thread.sleep(PAST_TTL_MILLIS);
+        assertEquals(10L, quantity(productId));
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.cancelReservation(reservation.getReservationId()));
+    }
+
+    @Test
+    void confirmedReservationStaysDebitedPastTtl() throws InterruptedException {
+        long productId = 900_103L;
+        inventoryService.addInventory(new InventoryDto(null, productId, 10L, "R-3", null));
+
+        ReservationDto reservation = inventoryService.reserveStock(productId, 4);
+        inventoryService.confirmReservation(reservation.getReservationId());
+
+        Thread.sleep(PAST_TTL_MILLIS);
+        assertEquals(6L, quantity(productId));
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.cancelReservation(reservation.getReservationId()));
+    }
+
+    private long quantity(long productId) {
+        return inventoryRepository.findByProductId(productId).orElseThrow().getQuantity();
+    }
+
+    private void awaitQuantity(long productId, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (quantity(productId) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, quantity(productId));
+    }
+}
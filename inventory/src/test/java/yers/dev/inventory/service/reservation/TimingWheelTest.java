@@ -0,0 +1,89 @@
+package yers.dev.inventory.service.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Колесо таймеров на искусственном времени: тик 10 нс, четыре корзины, отсчёт от нуля.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 0);
+
+    @Test
+    void firesOnTheTickCoveringTheDeadlineAndNotBefore() {
+        wheel.schedule("a", 25);
+
+        assertTrue(wheel.advance(29).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(30));
+        assertTrue(wheel.advance(1_000).isEmpty());
+    }
+
+    @Test
+    void deadlineBeyondOneRevolutionWaitsForItsRound() {
+        wheel.schedule("far", 10 * TICK);
+
+        assertTrue(wheel.advance(4 * TICK).isEmpty());
+        assertTrue(wheel.advance(9 * TICK).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(10 * TICK));
+    }
+
+    @Test
+    void timersInOneBucketFireInTheirOwnRounds() {
+        wheel.schedule("second", 6 * TICK);
+        wheel.schedule("first", 2 * TICK);
+        wheel.schedule("third", 10 * TICK);
+
+        assertEquals(List.of("first"), wheel.advance(2 * TICK));
+        assertTrue(wheel.advance(5 * TICK).isEmpty());
+        assertEquals(List.of("second"), wheel.advance(6 * TICK));
+        assertEquals(List.of("third"), wheel.advance(10 * TICK));
+    }
+
+    @Test
+    void roundsAreCountedFromTheCurrentTickWhenScheduledLater() {
+        assertTrue(wheel.advance(7 * TICK).isEmpty());
+        wheel.schedule("late", 13 * TICK);
+
+        assertTrue(wheel.advance(12 * TICK).isEmpty());
+        assertEquals(List.of("late"), wheel.advance(13 * TICK));
+    }
+
+    @Test
+    void pastDeadlineFiresOnTheNextTick() {
+        wheel.advance(5 * TICK);
+        wheel.schedule("overdue", TICK);
+
+        assertTrue(wheel.advance(5 * TICK).isEmpty());
+        assertEquals(List.of("overdue"), wheel.advance(6 * TICK));
+    }
+
+    @Test
+    void longPauseFiresEverythingDueAtOnce() {
+        wheel.schedule("a", TICK);
+        wheel.schedule("b", 7 * TICK);
+        wheel.schedule("c", 30 * TICK);
+        wheel.schedule("later", 31 * TICK);
+
+        List<String> expired = wheel.advance(30 * TICK);
+        assertEquals(3, expired.size());
+        assertTrue(expired.containsAll(List.of("a", "b", "c")));
+        assertEquals(List.of("later"), wheel.advance(31 * TICK));
+    }
+
+    @Test
+    void wheelSizeIsRoundedUpToPowerOfTwo() {
+        TimingWheel<String> odd = new TimingWheel<>(TICK, 3, 0);
+        odd.schedule("wrap", 4 * TICK);
+
+        assertTrue(odd.advance(0).isEmpty());
+        assertTrue(odd.advance(3 * TICK).isEmpty());
+        assertEquals(List.of("wrap"), odd.advance(4 * TICK));
+    }
+}
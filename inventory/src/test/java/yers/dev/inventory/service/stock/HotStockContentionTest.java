@@ -0,0 +1,84 @@
+package yers.dev.inventory.service.stock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.exception.InsufficientStockException;
+import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.service.InventoryService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка режима горячих товаров: резервы идут в памяти, а после сброса журнала
+ * остаток в БД совпадает с остатком в памяти. Корректность восстановления проверяет
+ * {@link HotStockServiceTest}; этот тест запускается только явно:
+ * {@code mvn test -Dtest=HotStockContentionTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+        "inventory.hot-stock.enabled=true",
+        "inventory.hot-stock.product-ids=900002",
+        "inventory.hot-stock.journal-directory=target/hot-stock-journal-test"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotStockContentionTest {
+
+    private static final long HOT_PRODUCT_ID = 900_002L;
+    private static final long INITIAL_STOCK = 200_000;
+    private static final int WORKERS = 64;
+    private static final int RESERVATIONS_PER_WORKER = 5_000;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void reservationsInMemoryMatchDatabaseAfterFlush() throws InterruptedException {
+        inventoryService.addInventory(new InventoryDto(null, HOT_PRODUCT_ID, INITIAL_STOCK, "A-1", null));
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        long began = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < WORKERS; worker++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < RESERVATIONS_PER_WORKER; i++) {
+                        try {
+                            inventoryService.reserveStock(HOT_PRODUCT_ID, 1);
+                            reserved.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        long elapsed = System.nanoTime() - began;
+        hotStockService.flush();
+
+        long total = (long) WORKERS * RESERVATIONS_PER_WORKER;
+        long inDatabase = inventoryRepository.findByProductId(HOT_PRODUCT_ID).orElseThrow().getQuantity();
+        System.out.printf("%d hot reservations: %d reserved, %d rejected, %d left, %.1f ms, %.0f reservations/s%n",
+                total, reserved.get(), rejected.get(), inDatabase, elapsed / 1e6, total / (elapsed / 1e9));
+
+        assertEquals(Math.min(total, INITIAL_STOCK), reserved.get());
+        assertEquals(total - reserved.get(), rejected.get());
+        assertEquals(INITIAL_STOCK - reserved.get(), inDatabase);
+        assertEquals(inDatabase, hotStockService.available(HOT_PRODUCT_ID).orElseThrow());
+    }
+}
@@ -0,0 +1,93 @@
+package yers.dev.inventory.service.stock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import yers.dev.inventory.configuration.HotStockProperties;
+import yers.dev.inventory.entity.dto.InventoryDto;
+import yers.dev.inventory.entity.dto.ReservationDto;
+import yers.dev.inventory.exception.InsufficientStockException;
+import yers.dev.inventory.repository.InventoryRepository;
+import yers.dev.inventory.repository.StockOutboxRepository;
+import yers.dev.inventory.service.InventoryService;
+
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Режим горячих товаров: резервы в памяти попадают в БД при сбросе журнала,
+ * а оставшийся после падения сегмент применяется ровно один раз.
+ */
+@SpringBootTest(properties = {
+        "inventory.hot-stock.enabled=true",
+        "inventory.hot-stock.product-ids=900012,900013",
+        "inventory.hot-stock.flush-interval=1h",
+        "inventory.hot-stock.journal-directory=target/hot-stock-journal-unit-test"
+})
+class HotStockServiceTest {
+
+    private static final long HOT_PRODUCT_ID = 900_012L;
+    private static final long RECOVERED_PRODUCT_ID = 900_013L;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private HotStockProperties hotStockProperties;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void reservationsReachDatabaseOnFlush() {
+        inventoryService.addInventory(new InventoryDto(null, HOT_PRODUCT_ID, 10L, "A-1", null));
+
+        ReservationDto cancelled = inventoryService.reserveStock(HOT_PRODUCT_ID, 4);
+        inventoryService.reserveStock(HOT_PRODUCT_ID, 3);
+        inventoryService.cancelReservation(cancelled.getReservationId());
+        assertThrows(InsufficientStockException.class, () -> inventoryService.reserveStock(HOT_PRODUCT_ID, 8));
+        assertEquals(7L, hotStockService.available(HOT_PRODUCT_ID).orElseThrow());
+        assertEquals(10L, inventoryRepository.findByProductId(HOT_PRODUCT_ID).orElseThrow().getQuantity());
+
+        hotStockService.flush();
+        assertEquals(7L, inventoryRepository.findByProductId(HOT_PRODUCT_ID).orElseThrow().getQuantity());
+        assertEquals(7L, hotStockService.available(HOT_PRODUCT_ID).orElseThrow());
+    }
+
+    @Test
+    void recoveryAppliesLeftoverSegmentOnce() throws Exception {
+        inventoryService.addInventory(new InventoryDto(null, RECOVERED_PRODUCT_ID, 100L, "A-2", null));
+        Long applied = inventoryRepository.findMaxHotStockSegment();
+        long segment = (applied == null ? 0 : applied) + 1_000;
+        String leftover = String.format("segment-%019d.log", segment);
+        Files.writeString(hotStockProperties.getJournalDirectory().resolve(leftover),
+                RECOVERED_PRODUCT_ID + " -7\n" + RECOVERED_PRODUCT_ID + " -3\n" + RECOVERED_PRODUCT_ID + " -");
+
+        startAndStopAnotherInstance();
+        assertEquals(90L, inventoryRepository.findByProductId(RECOVERED_PRODUCT_ID).orElseThrow().getQuantity());
+        assertTrue(Files.notExists(hotStockProperties.getJournalDirectory().resolve(leftover)));
+
+        Files.writeString(hotStockProperties.getJournalDirectory().resolve(leftover), RECOVERED_PRODUCT_ID + " -10\n");
+        startAndStopAnotherInstance();
+        assertEquals(90L, inventoryRepository.findByProductId(RECOVERED_PRODUCT_ID).orElseThrow().getQuantity());
+    }
+
+    private void startAndStopAnotherInstance() throws Exception {
+        HotStockService recovering = new HotStockService(hotStockProperties, inventoryRepository, stockOutboxRepository, transactionTemplate);
+        recovering.start();
+        recovering.shutdown();
+    }
+}
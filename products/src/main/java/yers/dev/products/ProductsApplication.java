@@ -2,12 +2,16 @@ package yers.dev.products;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.core.Ordered;
 
 @SpringBootApplication
 @EnableFeignClients
 @EnableDiscoveryClient
+// кэш оборачивает транзакцию снаружи, чтобы @CacheEvict срабатывал уже после коммита
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class ProductsApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package yers.dev.products.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Параметры отправки складских изменений из outbox в сервис inventory.
+ * <p>
+ * Загружается из application.yml с префиксом {@code products.inventory-outbox}.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * products.inventory-outbox.poll-interval=200ms
+ * products.inventory-outbox.batch-size=100
+ * products.inventory-outbox.max-backoff=30s
+ * products.inventory-outbox.lease-duration=30s
+ * }</pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "products.inventory-outbox")
+@Getter
+@Setter
+public class InventoryOutboxProperties {
+
+    /** Как часто outbox проверяется без сигнала о новых записях */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /** Сколько изменений уходит в inventory одним вызовом */
+    private int batchSize = 100;
+
+    /** Верхняя граница паузы между повторами после неудачной отправки */
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /** Срок аренды outbox одним экземпляром; должен быть больше времени отправки пакета */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+}
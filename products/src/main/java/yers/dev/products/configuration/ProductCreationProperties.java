@@ -0,0 +1,41 @@
+package yers.dev.products.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Параметры асинхронного создания товаров.
+ * <p>
+ * Загружается из application.yml с префиксом {@code products.creation}.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * products.creation.queue-capacity=10000
+ * products.creation.workers=2
+ * products.creation.batch-size=100
+ * products.creation.retention=10m
+ * }</pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "products.creation")
+@Getter
+@Setter
+public class ProductCreationProperties {
+
+    /** Сколько заданий может ждать в очереди; сверх этого запросы получают 503 */
+    private int queueCapacity = 10_000;
+
+    /** Число потоков, разбирающих очередь */
+    private int workers = 2;
+
+    /** Сколько заданий создаётся одной транзакцией */
+    private int batchSize = 100;
+
+    /** Сколько хранится результат завершённого задания */
+    private Duration retention = Duration.ofMinutes(10);
+
+}
@@ -15,10 +15,33 @@ public final class ProductsConstants {
     public static final String  MESSAGE_200 = "Request processed successfully";
     public static final String  STATUS_DELETED_200 = "200";
     public static final String  MESSAGE_DELETED_200 = "Request processed successfully";
+    public static final String  STATUS_400 = "400";
+    public static final String  MESSAGE_400_INVALID_PRODUCT = "Product must have a name, a description, a category and non-negative price and stock";
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
     public static final String  STATUS_500 = "500";
     public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
+    public static final String  PRODUCT_DETAILS_CACHE = "productDetails";
+    public static final int  DEFAULT_PAGE_SIZE = 50;
+    public static final int  MAX_PAGE_SIZE = 500;
+    public static final int  DEFAULT_SEARCH_LIMIT = 20;
+    public static final int  MAX_SEARCH_LIMIT = 100;
+    public static final int  DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int  MAX_SUGGEST_LIMIT = 50;
+    public static final int  MAX_BULK_SIZE = 1000;
+    public static final int  MAX_FETCH_BATCH_SIZE = 5000;
+    public static final int  STREAM_FLUSH_ROWS = 500;
+    public static final String  SORT_BY_PRICE = "price";
+    public static final String  OUTBOX_DEPTH_METRIC = "products.inventory.outbox.depth";
+    public static final String  OUTBOX_OLDEST_AGE_METRIC = "products.inventory.outbox.oldest.age";
+    public static final String  OUTBOX_DELIVERED_METRIC = "products.inventory.outbox.delivered";
+    public static final String  OUTBOX_FAILED_METRIC = "products.inventory.outbox.failed";
+    public static final String  OUTBOX_REJECTED_METRIC = "products.inventory.outbox.rejected";
+    public static final String  CREATION_QUEUE_DEPTH_METRIC = "products.creation.queue.depth";
+    public static final String  MESSAGE_202 = "Product creation accepted";
+    public static final String  MESSAGE_202_SAVED = "Product saved, waiting for the inventory service to accept its stock";
+    public static final String  MESSAGE_STOCK_REJECTED = "Inventory service rejected the stock record, product was removed";
+    public static final String  MESSAGE_PRODUCT_GONE = "Product was removed before its stock was confirmed";
 
 }
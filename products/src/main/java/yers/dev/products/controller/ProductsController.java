@@ -1,17 +1,38 @@
 package yers.dev.products.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import yers.dev.products.exception.ResourceNotFoundException;
+import yers.dev.products.model.dto.BulkProductResultDto;
+import yers.dev.products.model.dto.ProductCreationJobDto;
 import yers.dev.products.model.dto.ProductInventoryDto;
 import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.model.dto.ProductsPageDto;
 import yers.dev.products.model.dto.ResponseDto;
+import yers.dev.products.model.dto.StockLevelDto;
 import yers.dev.products.model.Category;
+import yers.dev.products.search.ProductNameSuggester;
+import yers.dev.products.search.ProductSearchIndex;
 import yers.dev.products.service.ProductsService;
+import yers.dev.products.service.creation.ProductCreationPipeline;
+import yers.dev.products.util.ETagUtility;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static yers.dev.products.constants.ProductsConstants.*;
 
@@ -20,12 +41,109 @@ import static yers.dev.products.constants.ProductsConstants.*;
 @AllArgsConstructor
 public class ProductsController {
     private final ProductsService productsService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductNameSuggester productNameSuggester;
+    private final ProductCreationPipeline productCreationPipeline;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<ProductsDto>> getProducts() {
+    public ResponseEntity<List<ProductsDto>> getProducts(
+            @RequestParam(name = "category", required = false) Category category,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(name = "afterPrice", required = false) Double afterPrice,
+            @RequestParam(name = "afterId", required = false) Long afterId) {
+        // фильтры работают только вместе с sort=price; без него они бы молча игнорировались
+        if (category != null || minPrice != null || maxPrice != null || afterPrice != null || afterId != null) {
+            throw new IllegalArgumentException("category, minPrice, maxPrice, afterPrice and afterId require sort=" + SORT_BY_PRICE);
+        }
+        List<ProductsDto> products = productsService.getProducts();
         return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(productsService.getProducts());
+                .status(HttpStatus.OK)
+                .eTag(ETagUtility.forProducts(products))
+                .body(products);
+    }
+
+    @GetMapping(params = "sort")
+    public ResponseEntity<ProductsPageDto> getProductsSortedByPrice(
+            @RequestParam("sort") String sort,
+            @RequestParam(name = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(name = "category", required = false) Category category,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(name = "afterPrice", required = false) Double afterPrice,
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        ProductsPageDto page = productsService.getProductsByPrice(
+                category, minPrice, maxPrice, sort, direction, afterPrice, afterId, size);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .eTag(ETagUtility.forProducts(page.getContent(), page.getNextAfterId(), page.getNextAfterPrice()))
+                .body(page);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ProductsPageDto> getProductsPage(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        ProductsPageDto page = productsService.getProductsPage(after, size);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .eTag(ETagUtility.forProducts(page.getContent(), page.getNextAfterId()))
+                .body(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                productsService.streamProducts(productWriter(generator, objectMapper.writerFor(ProductsDto.class)));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "updatedSince", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                productsService.exportProducts(after, updatedSince,
+                        productWriter(generator, objectMapper.writerFor(ProductsDto.class).withRootValueSeparator("\n")));
+            }
+        };
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductsDto>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(name = "category", required = false) Category category,
+            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        List<ProductsDto> products = productSearchIndex.search(query, category, Math.min(limit, MAX_SEARCH_LIMIT));
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .eTag(ETagUtility.forProducts(products))
+                .body(products);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestProductNames(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_SUGGEST_LIMIT) int limit) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(productNameSuggester.suggest(prefix, Math.min(limit, MAX_SUGGEST_LIMIT)));
     }
 
     @PostMapping("/create")
@@ -35,6 +153,36 @@ public class ProductsController {
                 .status(HttpStatus.CREATED)
                 .body(new ResponseDto(MESSAGE_200, MESSAGE_201));
     }
+
+    @PostMapping("/create/async")
+    public ResponseEntity<ProductCreationJobDto> createProductAsync(@Valid @RequestBody ProductInventoryDto productInventoryDto) {
+        ProductCreationJobDto job = productCreationPipeline.submit(productInventoryDto);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/products/create/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/create/jobs/{jobId}")
+    public ResponseEntity<ProductCreationJobDto> getProductCreationJob(@PathVariable("jobId") String jobId) {
+        ProductCreationJobDto job = productCreationPipeline.getJob(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("ProductCreationJob", "jobId", jobId);
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(job);
+    }
+
+    @PostMapping("/create/batch")
+    public ResponseEntity<List<BulkProductResultDto>> createProducts(@RequestBody List<ProductInventoryDto> productInventoryDtos) {
+        List<BulkProductResultDto> results = productsService.createProducts(productInventoryDtos);
+        boolean allCreated = results.stream().allMatch(result -> STATUS_201.equals(result.getStatusCode()));
+        return ResponseEntity
+                .status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(results);
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<ResponseDto> updateProduct(@Valid @PathVariable("id") Long id, @RequestBody ProductInventoryDto productInventoryDto) {
         productsService.updateProduct(id, productInventoryDto);
@@ -44,11 +192,17 @@ public class ProductsController {
     }
 
     @GetMapping("/{category}")
-    public ResponseEntity<List<ProductsDto>> getProductsByCategory(@PathVariable("category") Category category) {
-        productsService.getProductsByCategory(category);
+    public ResponseEntity<List<ProductsDto>> getProductsByCategory(
+            @PathVariable("category") Category category,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(name = "sort", defaultValue = "product_id") String sort,
+            @RequestParam(name = "direction", defaultValue = "ASC") String direction) {
+        List<ProductsDto> products = productsService.getProductsByCategory(category, page, size, sort, direction);
         return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(productsService.getProductsByCategory(category));
+                .status(HttpStatus.OK)
+                .eTag(ETagUtility.forProducts(products))
+                .body(products);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -61,8 +215,47 @@ public class ProductsController {
 
     @GetMapping("/fetch/{id}")
     public ResponseEntity<ProductsDto> fetchProductDetails(@PathVariable("id") Long id) {
+        ProductsDto product = productsService.getProduct(id);
+        if (product == null) {
+            return ResponseEntity.status(HttpStatus.OK).body(null);
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .eTag(ETagUtility.forProduct(product))
+                .body(product);
+    }
+
+    @PostMapping("/fetch/batch")
+    public ResponseEntity<List<ProductsDto>> fetchProductDetailsBatch(@RequestBody List<Long> ids) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(productsService.getProduct(id));
+                .body(productsService.getProductsByIds(ids));
+    }
+
+    @PostMapping("/stock")
+    public ResponseEntity<ResponseDto> applyStockLevels(@RequestBody List<StockLevelDto> stockLevels) {
+        productsService.applyStockLevels(stockLevels);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_200));
+    }
+
+    /**
+     * Пишет товары в {@code generator} без сброса после каждого значения: иначе каждая строка
+     * уходила бы клиенту отдельным chunk'ом. Ответ сбрасывается раз в {@value STREAM_FLUSH_ROWS} товаров.
+     */
+    private static Consumer<ProductsDto> productWriter(JsonGenerator generator, ObjectWriter writer) {
+        ObjectWriter buffered = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        int[] rows = {0};
+        return productsDto -> {
+            try {
+                buffered.writeValue(generator, productsDto);
+                if (++rows[0] % STREAM_FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 }
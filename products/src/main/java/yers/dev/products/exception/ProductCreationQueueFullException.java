@@ -0,0 +1,13 @@
+package yers.dev.products.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ProductCreationQueueFullException extends RuntimeException {
+
+    public ProductCreationQueueFullException(int capacity) {
+        super(String.format("Product creation queue is full (%d jobs), please retry later", capacity));
+    }
+
+}
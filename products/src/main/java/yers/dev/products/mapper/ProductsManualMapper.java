@@ -18,6 +18,8 @@ public class ProductsManualMapper {
         dto.setDescription(product.getDescription());
         dto.setPrice(product.getPrice());
         dto.setCategory(product.getCategory());
+        dto.setVersion(product.getVersion());
+        dto.setStock_quantity(product.getStockQuantity());
         return dto;
     }
 
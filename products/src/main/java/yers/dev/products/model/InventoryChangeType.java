@@ -0,0 +1,8 @@
+package yers.dev.products.model;
+
+public enum InventoryChangeType {
+    /** Складская запись нового товара; если inventory её отклонит, товар удаляется */
+    CREATE,
+    UPSERT,
+    DELETE
+}
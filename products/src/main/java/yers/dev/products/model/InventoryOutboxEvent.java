@@ -0,0 +1,66 @@
+package yers.dev.products.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Изменение складской записи, которое нужно передать в сервис inventory. Пишется в той же
+ * транзакции, что и сам товар, и удаляется после успешной отправки.
+ */
+@Entity
+@Table(name = "inventory_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class InventoryOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_outbox_seq")
+    @SequenceGenerator(name = "inventory_outbox_seq", sequenceName = "inventory_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InventoryChangeType type;
+
+    private Long quantity;
+
+    private String warehouseLocation;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private int attempts;
+
+    private String lastError;
+
+    public static InventoryOutboxEvent create(Long productId, Long quantity, String warehouseLocation) {
+        InventoryOutboxEvent event = upsert(productId, quantity, warehouseLocation);
+        event.setType(InventoryChangeType.CREATE);
+        return event;
+    }
+
+    public static InventoryOutboxEvent upsert(Long productId, Long quantity, String warehouseLocation) {
+        InventoryOutboxEvent event = new InventoryOutboxEvent();
+        event.setProductId(productId);
+        event.setType(InventoryChangeType.UPSERT);
+        event.setQuantity(quantity);
+        event.setWarehouseLocation(warehouseLocation);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    public static InventoryOutboxEvent delete(Long productId) {
+        InventoryOutboxEvent event = new InventoryOutboxEvent();
+        event.setProductId(productId);
+        event.setType(InventoryChangeType.DELETE);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,14 @@
+package yers.dev.products.model;
+
+public enum ProductCreationJobStatus {
+    /** Задание принято и ждёт обработки в очереди */
+    ACCEPTED,
+    /** Товар сохранён, складская запись ещё не принята сервисом inventory */
+    SAVED,
+    /** Товар создан, складская запись принята сервисом inventory */
+    CREATED,
+    /** Товар не прошёл проверку или inventory отклонил его складскую запись, и товар удалён */
+    REJECTED,
+    /** Создание не удалось из-за ошибки сервиса */
+    FAILED
+}
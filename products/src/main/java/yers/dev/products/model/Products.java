@@ -7,13 +7,19 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_product_id", columnList = "category, product_id"),
+        @Index(name = "idx_products_category_price", columnList = "category, price, product_id"),
+        @Index(name = "idx_products_price", columnList = "price, product_id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Products extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private long product_id;
 
     //@Column(unique = true, nullable = false, length = 50)
@@ -30,4 +36,18 @@ public class Products extends BaseEntity{
     @Enumerated(EnumType.STRING)
     private Category category;
 
+    @Version
+    private long version;
+
+    /**
+     * Остаток со склада: read model, который обновляется только событиями сервиса inventory
+     * через {@code ProductsRepository#applyStockLevel}. Сохранение сущности его не перезаписывает.
+     */
+    @Column(name = "stock_quantity", insertable = false, updatable = false)
+    private Long stockQuantity;
+
+    /** Версия складской записи inventory, из которой взят {@link #stockQuantity} */
+    @Column(name = "stock_version", insertable = false, updatable = false)
+    private Long stockVersion;
+
 }
\ No newline at end of file
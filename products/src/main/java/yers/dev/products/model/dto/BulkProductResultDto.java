@@ -0,0 +1,35 @@
+package yers.dev.products.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "BulkProductResult",
+        description = "Schema to hold the result of one item of a bulk product creation"
+)
+public class BulkProductResultDto {
+
+    @Schema(
+            description = "Position of the item in the request list"
+    )
+    private int index;
+
+    @Schema(
+            description = "Id of the created product, null if the item was rejected"
+    )
+    private Long productId;
+
+    @Schema(
+            description = "Status code of the item"
+    )
+    private String statusCode;
+
+    @Schema(
+            description = "Status message of the item"
+    )
+    private String statusMsg;
+
+}
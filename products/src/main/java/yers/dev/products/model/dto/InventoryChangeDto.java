@@ -0,0 +1,24 @@
+package yers.dev.products.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Изменение складской записи товара в пакете {@code POST /api/inventory/changes}:
+ * запись создаётся или перезаписывается, либо удаляется при {@code deleted = true}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangeDto {
+
+    private Long productId;
+
+    private Long quantity;
+
+    private String warehouseLocation;
+
+    private boolean deleted;
+
+}
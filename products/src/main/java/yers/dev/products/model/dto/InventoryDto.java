@@ -7,6 +7,8 @@ public class InventoryDto {
 
     private Long inventory_id;
 
+    private Long productId;
+
     private Long quantity;
 
     private String warehouseLocation; // TODO: implement
@@ -0,0 +1,48 @@
+package yers.dev.products.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import yers.dev.products.model.ProductCreationJobStatus;
+
+import java.time.LocalDateTime;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "ProductCreationJob",
+        description = "Schema to hold the state of an asynchronous product creation"
+)
+public class ProductCreationJobDto {
+
+    @Schema(
+            description = "Id of the job, used to poll its status"
+    )
+    private String jobId;
+
+    @Schema(
+            description = "Current state of the job"
+    )
+    private ProductCreationJobStatus status;
+
+    @Schema(
+            description = "Id of the created product, null until the job is completed"
+    )
+    private Long productId;
+
+    @Schema(
+            description = "Status message of the job"
+    )
+    private String statusMsg;
+
+    @Schema(
+            description = "When the job was accepted"
+    )
+    private LocalDateTime acceptedAt;
+
+    @Schema(
+            description = "When the job was completed, null while it is waiting"
+    )
+    private LocalDateTime completedAt;
+
+}
@@ -1,10 +1,14 @@
 package yers.dev.products.model.dto;
 
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import yers.dev.products.model.Category;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductsDto {
 
     private long product_id;
@@ -17,4 +21,8 @@ public class ProductsDto {
 
     private Category category;
 
+    private long version;
+
+    private Long stock_quantity;
+
 }
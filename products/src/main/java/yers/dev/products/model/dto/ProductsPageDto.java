@@ -0,0 +1,32 @@
+package yers.dev.products.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "ProductsPage",
+        description = "Schema to hold one keyset page of the product catalog"
+)
+public class ProductsPageDto {
+
+    @Schema(
+            description = "Products of the page ordered by product_id"
+    )
+    private List<ProductsDto> content;
+
+    @Schema(
+            description = "Value for the 'after' parameter of the next page, null if this page is the last one"
+    )
+    private Long nextAfterId;
+
+    @Schema(
+            description = "Value for the 'afterPrice' parameter of the next page when sorting by price, null otherwise"
+    )
+    private Double nextAfterPrice;
+
+}
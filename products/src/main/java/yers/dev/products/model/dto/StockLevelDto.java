@@ -0,0 +1,23 @@
+package yers.dev.products.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Остаток товара из сервиса inventory в пакете {@code POST /api/products/stock}.
+ * {@code version} — версия складской записи; {@code quantity} и {@code version} равны
+ * {@code null}, если складской записи больше нет.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDto {
+
+    private Long productId;
+
+    private Long quantity;
+
+    private Long version;
+
+}
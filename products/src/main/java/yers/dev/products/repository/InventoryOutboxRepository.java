@@ -0,0 +1,44 @@
+package yers.dev.products.repository;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import yers.dev.products.model.InventoryChangeType;
+import yers.dev.products.model.InventoryOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutboxEvent, Long> {
+
+    /**
+     * Самые старые неотправленные изменения — в порядке записи.
+     */
+    @Query("select e from InventoryOutboxEvent e order by e.id")
+    List<InventoryOutboxEvent> findOldest(Limit limit);
+
+    /**
+     * Товары из {@code productIds}, у которых в outbox ещё есть изменение типа {@code type}.
+     */
+    @Query("select distinct e.productId from InventoryOutboxEvent e where e.type = :type and e.productId in :productIds")
+    List<Long> findProductIdsWithPendingChange(@Param("type") InventoryChangeType type,
+                                               @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Время записи самого старого неотправленного изменения, {@code null} если outbox пуст.
+     */
+    @Query("select min(e.createdAt) from InventoryOutboxEvent e")
+    LocalDateTime findOldestCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("update InventoryOutboxEvent e set e.attempts = e.attempts + 1, e.lastError = :error where e.id in :ids")
+    void markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+}
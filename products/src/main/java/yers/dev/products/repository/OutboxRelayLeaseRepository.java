@@ -0,0 +1,32 @@
+package yers.dev.products.repository;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import yers.dev.products.model.OutboxRelayLease;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OutboxRelayLeaseRepository extends JpaRepository<OutboxRelayLease, String> {
+
+    /**
+     * Берёт или продлевает аренду одним условным UPDATE: удаётся, если аренда уже
+     * принадлежит {@code owner} или истекла. Возвращает число изменённых строк.
+     */
+    @Transactional
+    @Modifying
+    @Query("update OutboxRelayLease l set l.owner = :owner, l.leasedUntil = :until"
+            + " where l.name = :name and (l.owner = :owner or l.leasedUntil < :now)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxRelayLease l set l.owner = null, l.leasedUntil = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+}
@@ -1,15 +1,139 @@
 package yers.dev.products.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yers.dev.products.model.Category;
 import yers.dev.products.model.Products;
+import yers.dev.products.model.dto.ProductsDto;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductsRepository extends JpaRepository<Products, Long> {
 
-    Optional<Products> findByCategory(Category category);
+    /**
+     * Конструкторная проекция для списков: выбираются только колонки {@link ProductsDto},
+     * строки не попадают в контекст персистентности и не проверяются на изменения.
+     * Остаток берётся из локальной read model, без обращения к сервису inventory.
+     */
+    String PRODUCTS_DTO_SELECT = "select new yers.dev.products.model.dto.ProductsDto("
+            + "p.product_id, p.name, p.description, p.price, p.category, p.version, p.stockQuantity) from Products p";
+
+    @Query(PRODUCTS_DTO_SELECT)
+    List<ProductsDto> findAllDtos();
+
+    /**
+     * Товары по набору идентификаторов одним {@code IN}-запросом; отсутствующие id пропускаются.
+     */
+    @Query(PRODUCTS_DTO_SELECT + " where p.product_id in :ids")
+    List<ProductsDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Страница товаров категории одним запросом; {@link Slice} не выполняет отдельный count.
+     */
+    @Query(PRODUCTS_DTO_SELECT + " where p.category = :category")
+    Slice<ProductsDto> findByCategory(@Param("category") Category category, Pageable pageable);
+
+    /**
+     * Keyset-страница каталога: товары с идентификатором строго больше {@code afterId}.
+     */
+    @Query(PRODUCTS_DTO_SELECT + " where p.product_id > :afterId order by p.product_id")
+    List<ProductsDto> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Keyset-страница по возрастанию цены в диапазоне {@code [minPrice, maxPrice]}:
+     * строки строго после курсора ({@code afterPrice}, {@code afterId}) в порядке (price, product_id).
+     * Условие {@code price >= afterPrice} задаёт индексу начало диапазона прямо у курсора,
+     * поэтому глубокие страницы не пересматривают уже выданные строки.
+     */
+    @Query(PRODUCTS_DTO_SELECT + " where p.price between :minPrice and :maxPrice"
+            + " and p.price >= :afterPrice"
+            + " and (p.price > :afterPrice or (p.price = :afterPrice and p.product_id > :afterId))"
+            + " order by p.price, p.product_id")
+    List<ProductsDto> findPriceAscAfter(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+                                        @Param("afterPrice") double afterPrice, @Param("afterId") long afterId,
+                                        Limit limit);
+
+    @Query(PRODUCTS_DTO_SELECT + " where p.category = :category and p.price between :minPrice and :maxPrice"
+            + " and p.price >= :afterPrice"
+            + " and (p.price > :afterPrice or (p.price = :afterPrice and p.product_id > :afterId))"
+            + " order by p.price, p.product_id")
+    List<ProductsDto> findPriceAscAfter(@Param("category") Category category,
+                                        @Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+                                        @Param("afterPrice") double afterPrice, @Param("afterId") long afterId,
+                                        Limit limit);
+
+    /**
+     * То же по убыванию: строки строго до курсора в порядке (price desc, product_id desc).
+     */
+    @Query(PRODUCTS_DTO_SELECT + " where p.price between :minPrice and :maxPrice"
+            + " and p.price <= :afterPrice"
+            + " and (p.price < :afterPrice or (p.price = :afterPrice and p.product_id < :afterId))"
+            + " order by p.price desc, p.product_id desc")
+    List<ProductsDto> findPriceDescAfter(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+                                         @Param("afterPrice") double afterPrice, @Param("afterId") long afterId,
+                                         Limit limit);
+
+    @Query(PRODUCTS_DTO_SELECT + " where p.category = :category and p.price between :minPrice and :maxPrice"
+            + " and p.price <= :afterPrice"
+            + " and (p.price < :afterPrice or (p.price = :afterPrice and p.product_id < :afterId))"
+            + " order by p.price desc, p.product_id desc")
+    List<ProductsDto> findPriceDescAfter(@Param("category") Category category,
+                                         @Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+                                         @Param("afterPrice") double afterPrice, @Param("afterId") long afterId,
+                                         Limit limit);
+
+    /**
+     * Записывает остаток из inventory, только если его версия новее уже сохранённой:
+     * повторные и запоздавшие события ничего не меняют. {@code @Version} товара не растёт,
+     * поэтому остатки не конфликтуют с правками самого товара. Возвращает 0 или 1.
+     */
+    @Modifying
+    @Query("update Products p set p.stockQuantity = :quantity, p.stockVersion = :version "
+            + "where p.product_id = :productId and (p.stockVersion is null or p.stockVersion < :version)")
+    int applyStockLevel(@Param("productId") Long productId, @Param("quantity") Long quantity,
+                        @Param("version") long version);
+
+    /**
+     * Складской записи товара больше нет: остаток неизвестен, а следующая запись
+     * с любой версией будет принята.
+     */
+    @Modifying
+    @Query("update Products p set p.stockQuantity = null, p.stockVersion = null "
+            + "where p.product_id = :productId and p.stockVersion is not null")
+    int clearStockLevel(@Param("productId") Long productId);
+
+    /**
+     * Весь каталог как forward-only курсор. Должен вызываться внутри транзакции,
+     * а поток — закрываться вызывающей стороной.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PRODUCTS_DTO_SELECT + " order by p.product_id")
+    Stream<ProductsDto> streamAll();
+
+    /**
+     * Курсор для выгрузки каталога: товары после {@code afterId}, изменённые не раньше
+     * {@code updatedSince} (для ещё не обновлявшихся строк берётся дата создания).
+     * {@code updatedSince = null} отключает фильтр по дате.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PRODUCTS_DTO_SELECT + " where p.product_id > :afterId"
+            + " and (cast(:updatedSince as LocalDateTime) is null"
+            + " or coalesce(p.updatedAt, p.createdAt) >= :updatedSince)"
+            + " order by p.product_id")
+    Stream<ProductsDto> streamForExport(@Param("afterId") long afterId,
+                                        @Param("updatedSince") LocalDateTime updatedSince);
 
 }
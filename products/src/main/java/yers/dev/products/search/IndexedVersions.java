@@ -0,0 +1,45 @@
+package yers.dev.products.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Версии товаров, уже применённые к индексу. События разных транзакций и перестройка
+ * при старте приходят в произвольном порядке, поэтому изменение с версией старше
+ * применённой пропускается. Версия удалённого товара остаётся как метка удаления,
+ * чтобы запоздавшее сохранение той же или более старой версии не вернуло товар в индекс.
+ * <p>
+ * Не потокобезопасен: вызывающий индекс держит свою блокировку.
+ */
+final class IndexedVersions {
+
+    private final Map<Long, Applied> applied = new HashMap<>();
+
+    /**
+     * Отмечает сохранение товара и возвращает {@code false}, если оно устарело. Та же версия
+     * принимается повторно: остаток со склада обновляется без изменения версии товара.
+     */
+    boolean acceptSave(long productId, long version) {
+        Applied previous = applied.get(productId);
+        if (previous != null && (version < previous.version() || (previous.deleted() && version == previous.version()))) {
+            return false;
+        }
+        applied.put(productId, new Applied(version, false));
+        return true;
+    }
+
+    /**
+     * Отмечает удаление товара и возвращает {@code false}, если в индексе уже более новая версия.
+     */
+    boolean acceptDelete(long productId, long version) {
+        Applied previous = applied.get(productId);
+        if (previous != null && version < previous.version()) {
+            return false;
+        }
+        applied.put(productId, new Applied(version, true));
+        return true;
+    }
+
+    private record Applied(long version, boolean deleted) {
+    }
+}
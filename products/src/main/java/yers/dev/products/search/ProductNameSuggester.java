@@ -0,0 +1,115 @@
+package yers.dev.products.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.service.ProductsService;
+import yers.dev.products.service.event.ProductChangedEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Префиксный индекс названий товаров для подсказок при наборе.
+ * <p>
+ * Ключи — нормализованное название и каждый его хвост, начинающийся с нового слова
+ * («galaxy s21», «s21» для «Samsung Galaxy S21»), отсортированные в skip-list.
+ * Подсказки по префиксу — это проход по диапазону {@code [prefix, prefix + Character.MAX_VALUE)},
+ * без обращения к базе. Индекс строится при старте и обновляется событиями
+ * {@link ProductChangedEvent}; устаревшие по версии изменения пропускаются, см. {@link IndexedVersions}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductNameSuggester {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ProductsService productsService;
+
+    /** ключ (хвост названия + разделитель + id) -> название товара */
+    private final ConcurrentSkipListMap<String, String> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysByProduct = new ConcurrentHashMap<>();
+    private final IndexedVersions versions = new IndexedVersions();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        productsService.streamProducts(this::put);
+        log.info("Product name suggester built: {} products, {} keys", keysByProduct.size(), entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.productId(), event.version());
+        } else {
+            put(event.product());
+        }
+    }
+
+    public synchronized void put(ProductsDto product) {
+        if (!versions.acceptSave(product.getProduct_id(), product.getVersion())) {
+            return;
+        }
+        removeKeys(product.getProduct_id());
+        if (product.getName() == null || product.getName().isBlank()) {
+            return;
+        }
+        String normalized = ProductTextTokenizer.normalize(product.getName().strip());
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = i == 0 || (!Character.isLetterOrDigit(normalized.charAt(i - 1))
+                    && Character.isLetterOrDigit(normalized.charAt(i)));
+            if (wordStart) {
+                String key = normalized.substring(i) + KEY_SEPARATOR + product.getProduct_id();
+                entries.put(key, product.getName());
+                keys.add(key);
+            }
+        }
+        keysByProduct.put(product.getProduct_id(), keys);
+    }
+
+    public synchronized void remove(long productId, long version) {
+        if (versions.acceptDelete(productId, version)) {
+            removeKeys(productId);
+        }
+    }
+
+    private void removeKeys(long productId) {
+        List<String> keys = keysByProduct.remove(productId);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    /**
+     * Возвращает до {@code limit} различных названий товаров, в которых какое-либо слово
+     * начинается с {@code prefix}.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String normalized = ProductTextTokenizer.normalize(prefix.stripLeading());
+        NavigableMap<String, String> range = entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : range.values()) {
+            names.add(name);
+            if (names.size() == limit) {
+                break;
+            }
+        }
+        return List.copyOf(names);
+    }
+}
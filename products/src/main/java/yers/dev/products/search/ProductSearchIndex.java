@@ -0,0 +1,192 @@
+package yers.dev.products.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yers.dev.products.model.Category;
+import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.service.ProductsService;
+import yers.dev.products.service.event.ProductChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по названию и описанию товаров.
+ * <p>
+ * Строится один раз при старте из репозитория и далее поддерживается инкрементально
+ * событиями {@link ProductChangedEvent}: при изменении товара удаляются только его
+ * старые постинги, полная перестройка не требуется. Изменения с версией старше уже
+ * проиндексированной пропускаются, см. {@link IndexedVersions}. Ранжирование — TF-IDF, где
+ * совпадение в названии весит больше совпадения в описании, а при равной релевантности
+ * первым идёт товар с меньшим id.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ProductsService productsService;
+
+    /** терм -> (id товара -> взвешенная частота терма в товаре) */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final IndexedVersions versions = new IndexedVersions();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        productsService.streamProducts(this::put);
+        log.info("Product search index built: {} products, {} terms in {} ms",
+                size(), termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.productId(), event.version());
+        } else {
+            put(event.product());
+        }
+    }
+
+    public void put(ProductsDto product) {
+        Map<String, Integer> termWeights = new HashMap<>();
+        ProductTextTokenizer.tokenize(product.getName())
+                .forEach(term -> termWeights.merge(term, NAME_WEIGHT, Integer::sum));
+        ProductTextTokenizer.tokenize(product.getDescription())
+                .forEach(term -> termWeights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            if (!versions.acceptSave(product.getProduct_id(), product.getVersion())) {
+                return;
+            }
+            removeUnderLock(product.getProduct_id());
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getProduct_id(), weight));
+            documents.put(product.getProduct_id(), new IndexedProduct(product, termWeights.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId, long version) {
+        lock.writeLock().lock();
+        try {
+            if (versions.acceptDelete(productId, version)) {
+                removeUnderLock(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает до {@code limit} товаров, упорядоченных по релевантности запросу.
+     *
+     * @param query    поисковая строка
+     * @param category необязательный фильтр по категории
+     * @param limit    максимальное число результатов
+     */
+    public List<ProductsDto> search(String query, Category category, int limit) {
+        List<String> terms = ProductTextTokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, double[]> scores = new HashMap<>();
+            int totalDocuments = documents.size();
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) totalDocuments / termPostings.size());
+                termPostings.forEach((productId, weight) -> {
+                    double[] score = scores.computeIfAbsent(productId, id -> new double[2]);
+                    score[0] += weight * idf;
+                    score[1]++;
+                });
+            }
+
+            // в голове кучи — худший из лучших: меньший балл, при равенстве больший id
+            PriorityQueue<ScoredProduct> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredProduct::score)
+                    .thenComparing(scored -> scored.product().getProduct_id(), Comparator.reverseOrder()));
+            scores.forEach((productId, score) -> {
+                ProductsDto product = documents.get(productId).product();
+                if (category != null && product.getCategory() != category) {
+                    return;
+                }
+                // товары, совпавшие со всеми словами запроса, поднимаются выше частичных совпадений
+                top.add(new ScoredProduct(product, score[0] * score[1] / terms.size()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+
+            List<ProductsDto> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(top.poll().product());
+            }
+            return result.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeUnderLock(long productId) {
+        IndexedProduct previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record IndexedProduct(ProductsDto product, Set<String> terms) {
+    }
+
+    private record ScoredProduct(ProductsDto product, double score) {
+    }
+}
@@ -0,0 +1,43 @@
+package yers.dev.products.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Разбивает текст товара на нормализованные термы: последовательности букв и цифр любого
+ * алфавита (в т.ч. кириллицы) в нижнем регистре, с заменой «ё» на «е».
+ */
+public final class ProductTextTokenizer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private ProductTextTokenizer() {
+        // restrict instantiation
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(normalized.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+}
@@ -3,60 +3,221 @@ package yers.dev.products.service;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yers.dev.products.model.dto.BulkProductResultDto;
 import yers.dev.products.model.dto.InventoryDto;
 import yers.dev.products.model.dto.ProductInventoryDto;
 import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.model.dto.ProductsPageDto;
+import yers.dev.products.model.dto.StockLevelDto;
 import yers.dev.products.mapper.ProductInventoryMapper;
 import yers.dev.products.mapper.ProductsManualMapper;
 import yers.dev.products.model.Category;
+import yers.dev.products.model.InventoryOutboxEvent;
 import yers.dev.products.model.Products;
+import yers.dev.products.repository.InventoryOutboxRepository;
 import yers.dev.products.repository.ProductsRepository;
-import yers.dev.products.service.client.InventoryFeignClient;
+import yers.dev.products.service.event.ProductChangedEvent;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static yers.dev.products.constants.ProductsConstants.*;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class ProductsService {
     private final ProductsRepository productsRepository;
-    private final InventoryFeignClient inventoryFeignClient;
+    private final InventoryOutboxRepository inventoryOutboxRepository;
     private final ProductsManualMapper productsManualMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     public List<ProductsDto> getProducts() {
-        return productsManualMapper.toDtoList((productsRepository.findAll()));
+        return productsRepository.findAllDtos();
+    }
+
+    public ProductsPageDto getProductsPage(long afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<ProductsDto> products = productsRepository.findPageAfter(afterId, Limit.of(pageSize + 1));
+
+        boolean hasNext = products.size() > pageSize;
+        List<ProductsDto> content = hasNext ? products.subList(0, pageSize) : products;
+        Long nextAfterId = hasNext ? content.get(content.size() - 1).getProduct_id() : null;
+        return new ProductsPageDto(content, nextAfterId, null);
+    }
+
+    /**
+     * Товары в диапазоне цен, отсортированные по (price, product_id), keyset-страницами.
+     * Первая страница запрашивается без курсора; следующая — с {@code afterPrice} и {@code afterId}
+     * из предыдущего ответа, поэтому глубокие страницы не превращаются в OFFSET-сканирование.
+     */
+    public ProductsPageDto getProductsByPrice(Category category, Double minPrice, Double maxPrice, String sortBy,
+                                              String direction, Double afterPrice, Long afterId, int size) {
+        if (!SORT_BY_PRICE.equals(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+        if ((afterPrice == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterPrice and afterId must be passed together");
+        }
+        double min = minPrice == null ? 0 : minPrice;
+        double max = maxPrice == null ? Double.MAX_VALUE : maxPrice;
+        if (min > max) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ProductsDto> products;
+        if (Sort.Direction.fromString(direction).isAscending()) {
+            // без курсора (min, -1) пропускает ровно строки с ценой ниже min
+            double cursorPrice = afterPrice == null ? min : afterPrice;
+            long cursorId = afterId == null ? -1 : afterId;
+            products = category == null
+                    ? productsRepository.findPriceAscAfter(min, max, cursorPrice, cursorId, limit)
+                    : productsRepository.findPriceAscAfter(category, min, max, cursorPrice, cursorId, limit);
+        } else {
+            double cursorPrice = afterPrice == null ? max : afterPrice;
+            long cursorId = afterId == null ? Long.MAX_VALUE : afterId;
+            products = category == null
+                    ? productsRepository.findPriceDescAfter(min, max, cursorPrice, cursorId, limit)
+                    : productsRepository.findPriceDescAfter(category, min, max, cursorPrice, cursorId, limit);
+        }
+
+        boolean hasNext = products.size() > pageSize;
+        List<ProductsDto> content = hasNext ? products.subList(0, pageSize) : products;
+        ProductsDto last = hasNext ? content.get(content.size() - 1) : null;
+        return new ProductsPageDto(content,
+                last == null ? null : last.getProduct_id(),
+                last == null ? null : last.getPrice());
     }
 
+    /**
+     * Передаёт каталог в {@code consumer} по одной записи, читая его курсором.
+     * Строки читаются сразу в DTO, поэтому контекст персистентности не растёт.
+     */
+    @Transactional
+    public void streamProducts(Consumer<ProductsDto> consumer) {
+        try (Stream<ProductsDto> products = productsRepository.streamAll()) {
+            products.forEach(consumer);
+        }
+    }
+
+    /**
+     * Выгрузка каталога курсором в порядке {@code product_id}: только товары после {@code afterId}
+     * и, если задано, изменённые начиная с {@code updatedSince}.
+     */
+    @Transactional
+    public void exportProducts(long afterId, LocalDateTime updatedSince, Consumer<ProductsDto> consumer) {
+        try (Stream<ProductsDto> products = productsRepository.streamForExport(afterId, updatedSince)) {
+            products.forEach(consumer);
+        }
+    }
+
+    /**
+     * Создаёт товар; складская запись уходит в inventory через outbox после коммита,
+     * поэтому запись не ждёт сервис inventory.
+     */
     @Transactional
     public ProductsDto createProduct(ProductInventoryDto productInventoryDto) {
 
         log.info("ProductInventoryDto: {}", productInventoryDto);
-        InventoryDto inventoryDto = ProductInventoryMapper.toInventoryDto(productInventoryDto);
-
         ProductsDto productsDto = ProductInventoryMapper.toProductsDto(productInventoryDto);
 
-        log.info("InventoryDto: {}", inventoryDto);
-        ResponseEntity<InventoryDto> response = inventoryFeignClient.createInventory(
-                "correlationId", inventoryDto
-        );
-
-        if (response == null ||!response.getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException("Inventory creation failed: " + response.getStatusCode());
-        }
         log.info("ProductDto: {}", productsDto);
-        log.info("ProductsMapper: {}", productsManualMapper.toEntity(productsDto));
-        return productsManualMapper.toDto(
+        // id выдаётся последовательностью при persist, INSERT уйдёт при коммите
+        ProductsDto created = productsManualMapper.toDto(
                 productsRepository.save(productsManualMapper.toEntity(productsDto))
         );
+
+        InventoryDto inventoryDto = ProductInventoryMapper.toInventoryDto(productInventoryDto);
+        inventoryDto.setProductId(created.getProduct_id());
+        log.info("InventoryDto: {}", inventoryDto);
+        inventoryOutboxRepository.save(InventoryOutboxEvent.create(inventoryDto.getProductId(), inventoryDto.getQuantity(), inventoryDto.getWarehouseLocation()));
+        eventPublisher.publishEvent(ProductChangedEvent.saved(created));
+        return created;
+    }
+
+    /**
+     * Создаёт пачку товаров: некорректные элементы отклоняются по отдельности, остальные
+     * создаются одним {@code saveAll} вместе со складскими изменениями в outbox. Результаты
+     * возвращаются в порядке входного списка.
+     */
+    @Transactional
+    public List<BulkProductResultDto> createProducts(List<ProductInventoryDto> productInventoryDtos) {
+        if (productInventoryDtos.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk size must not exceed " + MAX_BULK_SIZE);
+        }
+        BulkProductResultDto[] results = new BulkProductResultDto[productInventoryDtos.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Products> products = new ArrayList<>();
+
+        for (int i = 0; i < productInventoryDtos.size(); i++) {
+            ProductInventoryDto productInventoryDto = productInventoryDtos.get(i);
+            if (!isValidForCreation(productInventoryDto)) {
+                results[i] = new BulkProductResultDto(i, null, STATUS_400, MESSAGE_400_INVALID_PRODUCT);
+                continue;
+            }
+            acceptedIndexes.add(i);
+            products.add(productsManualMapper.toEntity(ProductInventoryMapper.toProductsDto(productInventoryDto)));
+        }
+
+        if (!products.isEmpty()) {
+            List<Products> saved = productsRepository.saveAll(products);
+            List<InventoryOutboxEvent> outboxEvents = new ArrayList<>(saved.size());
+            for (int j = 0; j < saved.size(); j++) {
+                InventoryDto inventoryDto = ProductInventoryMapper.toInventoryDto(productInventoryDtos.get(acceptedIndexes.get(j)));
+                inventoryDto.setProductId(saved.get(j).getProduct_id());
+                outboxEvents.add(InventoryOutboxEvent.create(inventoryDto.getProductId(), inventoryDto.getQuantity(), inventoryDto.getWarehouseLocation()));
+            }
+            inventoryOutboxRepository.saveAll(outboxEvents);
+
+            for (int j = 0; j < saved.size(); j++) {
+                ProductsDto created = productsManualMapper.toDto(saved.get(j));
+                eventPublisher.publishEvent(ProductChangedEvent.saved(created));
+                int i = acceptedIndexes.get(j);
+                results[i] = new BulkProductResultDto(i, created.getProduct_id(), STATUS_201, MESSAGE_201);
+            }
+        }
+        return Arrays.asList(results);
     }
 
+    private static boolean isValidForCreation(ProductInventoryDto dto) {
+        return dto != null
+                && dto.getName() != null && !dto.getName().isBlank()
+                && dto.getDescription() != null && !dto.getDescription().isBlank()
+                && dto.getCategory() != null
+                && dto.getPrice() >= 0
+                && dto.getStock_quantity() >= 0;
+    }
 
     @Transactional
+    @CacheEvict(cacheNames = PRODUCT_DETAILS_CACHE, key = "#id")
     public ProductsDto updateProduct(Long id, ProductInventoryDto productInventoryDto) {
         InventoryDto inventoryDto = ProductInventoryMapper.toInventoryDto(productInventoryDto);
+        inventoryDto.setProductId(id);
         ProductsDto productsDto = ProductInventoryMapper.toProductsDto(productInventoryDto);
 
         Products products = productsRepository.findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
@@ -68,39 +229,99 @@ public class ProductsService {
         products.setUpdatedAt(LocalDateTime.now());
         products.setActive(true);
 
-        ResponseEntity<InventoryDto> response = inventoryFeignClient.updateInventory(
-            "correlationId", inventoryDto, id
-        );
-
-        if (response == null || !response.getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException("Inventory update failed: " + response.getStatusCode());
-        }
-        return productsManualMapper.toDto(productsRepository.save(products));
+        inventoryOutboxRepository.save(InventoryOutboxEvent.upsert(inventoryDto.getProductId(), inventoryDto.getQuantity(), inventoryDto.getWarehouseLocation()));
+        // flush поднимает @Version сразу, чтобы событие и ETag несли новую версию
+        ProductsDto updated = productsManualMapper.toDto(productsRepository.saveAndFlush(products));
+        eventPublisher.publishEvent(ProductChangedEvent.saved(updated));
+        return updated;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = PRODUCT_DETAILS_CACHE, key = "#id")
     public void deleteProduct(Long id) {
-        if (!inventoryFeignClient.deleteInventory("correlationId", id).getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException("Inventory deletion failed");
+        Optional<Products> products = productsRepository.findById(id);
+        products.ifPresent(productsRepository::delete);
+        inventoryOutboxRepository.save(InventoryOutboxEvent.delete(id));
+        products.ifPresent(deleted -> eventPublisher.publishEvent(ProductChangedEvent.deleted(id, deleted.getVersion())));
+    }
+
+    /**
+     * Обновляет read model остатков пакетом из сервиса inventory. Значение с версией не новее
+     * уже сохранённой пропускается, поэтому порядок и повторы доставки не важны.
+     * Изменившиеся товары вытесняются из кэша после коммита, как и у {@code @CacheEvict},
+     * чтобы параллельный {@link #getProduct(Long)} не закэшировал старый остаток, и заново
+     * попадают в поисковые индексы.
+     */
+    @Transactional
+    public void applyStockLevels(List<StockLevelDto> stockLevels) {
+        Set<Long> changed = new LinkedHashSet<>();
+        for (StockLevelDto stockLevel : stockLevels) {
+            if (stockLevel.getProductId() == null) {
+                throw new IllegalArgumentException("Stock level without productId");
+            }
+            int updated = stockLevel.getVersion() == null
+                    ? productsRepository.clearStockLevel(stockLevel.getProductId())
+                    : productsRepository.applyStockLevel(stockLevel.getProductId(), stockLevel.getQuantity(), stockLevel.getVersion());
+            if (updated > 0) {
+                changed.add(stockLevel.getProductId());
+            }
         }
-        productsRepository.deleteById(id);
+        if (changed.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(PRODUCT_DETAILS_CACHE);
+        if (cache != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.forEach(cache::evict);
+                }
+            });
+        }
+        productsRepository.findDtosByIds(changed)
+                .forEach(productsDto -> eventPublisher.publishEvent(ProductChangedEvent.saved(productsDto)));
     }
 
+    /**
+     * Пакетная выборка товаров для межсервисных вызовов: один {@code IN}-запрос на весь набор.
+     * Повторяющиеся id схлопываются, результат идёт в порядке первого упоминания id,
+     * ненайденные товары в ответ не попадают.
+     */
+    public List<ProductsDto> getProductsByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > MAX_FETCH_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must not exceed " + MAX_FETCH_BATCH_SIZE);
+        }
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductsDto> byId = productsRepository.findDtosByIds(uniqueIds).stream()
+                .collect(Collectors.toMap(ProductsDto::getProduct_id, Function.identity()));
+        return uniqueIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Cacheable(cacheNames = PRODUCT_DETAILS_CACHE, key = "#id", unless = "#result == null")
     public ProductsDto getProduct(Long id) {
         return productsManualMapper.toDto(productsRepository.findById(id).orElse(null));
     }
 
-    public List<ProductsDto> getProductsByCategory(Category category) {
+    public List<ProductsDto> getProductsByCategory(Category category, int page, int size, String sortBy, String direction) {
         if (category == null) {
             throw new IllegalArgumentException("Category must not be null");
         }
-        if (!productsRepository.findByCategory(category).isPresent()) {
-            throw new RuntimeException("Category not found");
-        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, categorySort(sortBy, Sort.Direction.fromString(direction)));
+
+        return productsRepository.findByCategory(category, pageRequest).getContent();
+    }
 
-        return switch (category) {
-            case ELECTRONICS, CLOTHING, BOOKS, TOYS, FURNITURE ->
-                    productsManualMapper.toDtoList(List.of(productsRepository.findByCategory(category).orElseThrow(() -> new RuntimeException())));
+    private static Sort categorySort(String sortBy, Sort.Direction direction) {
+        Sort byId = Sort.by(direction, "product_id");
+        return switch (sortBy) {
+            case "product_id" -> byId;
+            case "price", "name" -> Sort.by(direction, sortBy).and(byId);
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
         };
     }
 }
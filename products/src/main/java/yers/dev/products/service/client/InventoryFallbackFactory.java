@@ -0,0 +1,16 @@
+package yers.dev.products.service.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Подставляет {@link InventoryFallbacks} с причиной сбоя, чтобы отказ inventory по сути запроса (4xx)
+ * не выглядел как его недоступность.
+ */
+@Component
+public class InventoryFallbackFactory implements FallbackFactory<InventoryFeignClient> {
+    @Override
+    public InventoryFeignClient create(Throwable cause) {
+        return new InventoryFallbacks(cause);
+    }
+}
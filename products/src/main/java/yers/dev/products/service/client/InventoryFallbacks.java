@@ -1,25 +1,33 @@
 package yers.dev.products.service.client;
 
+import feign.FeignException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Component;
-import yers.dev.products.model.dto.InventoryDto;
+import yers.dev.products.model.dto.InventoryChangeDto;
 
-@Component
+import java.util.List;
+
+/**
+ * Ответы при сбое вызова inventory: 4xx от самого сервиса передаётся как есть,
+ * всё остальное (таймауты, открытый circuit breaker, 5xx) превращается в 503.
+ */
 public class InventoryFallbacks implements InventoryFeignClient {
-    @Override
-    public ResponseEntity<InventoryDto> createInventory(String correlationId, InventoryDto inventoryDto) {
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+    private final Throwable cause;
+
+    public InventoryFallbacks(Throwable cause) {
+        this.cause = cause;
     }
 
     @Override
-    public ResponseEntity<InventoryDto> updateInventory(String correlationId, InventoryDto inventoryDto, Long productId) {
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    public ResponseEntity<Void> applyInventoryChanges(String correlationId, List<InventoryChangeDto> changes) {
+        return fallbackResponse();
     }
 
-    @Override
-    public ResponseEntity<Void> deleteInventory(String correlationId, Long productId) {
+    private <T> ResponseEntity<T> fallbackResponse() {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            return ResponseEntity.status(clientError.status()).build();
+        }
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
-
 }
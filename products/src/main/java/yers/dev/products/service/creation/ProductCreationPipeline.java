@@ -0,0 +1,267 @@
+package yers.dev.products.service.creation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import yers.dev.products.configuration.ProductCreationProperties;
+import yers.dev.products.exception.ProductCreationQueueFullException;
+import yers.dev.products.model.InventoryChangeType;
+import yers.dev.products.model.ProductCreationJobStatus;
+import yers.dev.products.model.dto.BulkProductResultDto;
+import yers.dev.products.model.dto.ProductCreationJobDto;
+import yers.dev.products.model.dto.ProductInventoryDto;
+import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.repository.InventoryOutboxRepository;
+import yers.dev.products.repository.ProductsRepository;
+import yers.dev.products.service.ProductsService;
+import yers.dev.products.service.event.InventoryCreateResultEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static yers.dev.products.constants.ProductsConstants.*;
+
+/**
+ * Асинхронное создание товаров: запрос сразу получает id задания, а товар создаётся позже.
+ * <p>
+ * Задания ждут в ограниченной очереди на {@link ProductCreationProperties#getQueueCapacity()} мест;
+ * когда она заполнена, новые задания не принимаются. Рабочие потоки забирают до
+ * {@link ProductCreationProperties#getBatchSize()} заданий за раз и создают их одним
+ * {@link ProductsService#createProducts(List)}: один {@code saveAll} и одна запись в outbox
+ * на весь пакет, а складские записи уходят в inventory через relay. Если пакет целиком упал,
+ * задания повторяются по одному, чтобы ошибка одного товара не задела остальные.
+ * <p>
+ * Сохранённый товар ещё может быть удалён компенсацией, если inventory отклонит его
+ * складскую запись, поэтому задание остаётся {@link ProductCreationJobStatus#SAVED}, пока
+ * relay не сообщит итог через {@link InventoryCreateResultEvent}: тогда оно завершается как
+ * {@link ProductCreationJobStatus#CREATED} или {@link ProductCreationJobStatus#REJECTED}.
+ * Событие публикует только экземпляр, который держит аренду relay, поэтому сохранённые
+ * задания раз в секунду ещё и сверяются с outbox и таблицей товаров: так они завершаются
+ * на любом экземпляре и не остаются в памяти навсегда.
+ * <p>
+ * Состояние заданий хранится в памяти: результат завершённого задания доступен
+ * {@link ProductCreationProperties#getRetention()}, а задания, ещё стоящие в очереди,
+ * при остановке сервиса теряются.
+ */
+@Component
+@Slf4j
+public class ProductCreationPipeline {
+
+    private static final long EVICTION_INTERVAL_MILLIS = 1000;
+
+    private final ProductsService productsService;
+    private final InventoryOutboxRepository outboxRepository;
+    private final ProductsRepository productsRepository;
+    private final ProductCreationProperties properties;
+    private final BlockingQueue<QueuedJob> queue;
+    private final Map<String, ProductCreationJobDto> jobs = new ConcurrentHashMap<>();
+    /** id товара -> id задания, ждущего итога его складской записи */
+    private final Map<Long, String> awaitingInventory = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile long nextEvictionNanos;
+
+    public ProductCreationPipeline(ProductsService productsService, InventoryOutboxRepository outboxRepository,
+                                   ProductsRepository productsRepository, ProductCreationProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.productsService = productsService;
+        this.outboxRepository = outboxRepository;
+        this.productsRepository = productsRepository;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Gauge.builder(CREATION_QUEUE_DEPTH_METRIC, queue, BlockingQueue::size)
+                .description("Product creation jobs waiting in the queue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.add(Thread.ofPlatform().name("product-creation-" + i).daemon().start(this::work));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            log.warn("Product creation pipeline stopped with {} jobs still queued", queue.size());
+        }
+    }
+
+    /**
+     * Ставит товар в очередь на создание.
+     *
+     * @throws ProductCreationQueueFullException если очередь заполнена
+     */
+    public ProductCreationJobDto submit(ProductInventoryDto productInventoryDto) {
+        String jobId = UUID.randomUUID().toString();
+        ProductCreationJobDto job = new ProductCreationJobDto(
+                jobId, ProductCreationJobStatus.ACCEPTED, null, MESSAGE_202, LocalDateTime.now(), null);
+        jobs.put(jobId, job);
+        if (!queue.offer(new QueuedJob(jobId, productInventoryDto))) {
+            jobs.remove(jobId);
+            throw new ProductCreationQueueFullException(properties.getQueueCapacity());
+        }
+        return job;
+    }
+
+    /**
+     * Текущее состояние задания или {@code null}, если оно неизвестно или его результат уже удалён.
+     */
+    public ProductCreationJobDto getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void work() {
+        List<QueuedJob> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                QueuedJob first = queue.poll(EVICTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                    process(batch);
+                    batch.clear();
+                }
+                evictCompleted();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Product creation worker failed", e);
+                batch.forEach(job -> fail(job, String.valueOf(e.getMessage())));
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<QueuedJob> batch) {
+        List<BulkProductResultDto> results;
+        try {
+            results = productsService.createProducts(batch.stream().map(QueuedJob::productInventoryDto).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                complete(batch.get(0), ProductCreationJobStatus.FAILED, null, String.valueOf(e.getMessage()));
+                return;
+            }
+            log.warn("Creating {} products in one batch failed, retrying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(job -> process(List.of(job)));
+            return;
+        }
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            BulkProductResultDto result = results.get(i);
+            if (STATUS_201.equals(result.getStatusCode())) {
+                awaitInventory(batch.get(i), result.getProductId());
+                saved.add(result.getProductId());
+            } else {
+                complete(batch.get(i), ProductCreationJobStatus.REJECTED, result.getProductId(), result.getStatusMsg());
+            }
+        }
+        resolveAlreadyDelivered(saved);
+    }
+
+    /**
+     * Relay мог отправить складские записи ещё до того, как задания стали ждать итога,
+     * или отправить их с другого экземпляра, где событие этих заданий не видно. Такие товары уже не имеют изменения CREATE в outbox: принятые товары на месте,
+     * а отклонённые удалены компенсацией.
+     */
+    private void resolveAlreadyDelivered(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Set<Long> pending = Set.copyOf(outboxRepository.findProductIdsWithPendingChange(InventoryChangeType.CREATE, productIds));
+        List<Long> delivered = productIds.stream().filter(productId -> !pending.contains(productId)).toList();
+        if (delivered.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = productsRepository.findDtosByIds(delivered).stream()
+                .map(ProductsDto::getProduct_id)
+                .collect(Collectors.toSet());
+        delivered.forEach(productId -> resolve(productId, existing.contains(productId), MESSAGE_PRODUCT_GONE));
+    }
+
+    /**
+     * Сверяет все ждущие задания с outbox пакетами по {@link ProductCreationProperties#getBatchSize()}.
+     */
+    private void recheckAwaiting() {
+        List<Long> productIds = List.copyOf(awaitingInventory.keySet());
+        for (int from = 0; from < productIds.size(); from += properties.getBatchSize()) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + properties.getBatchSize(), productIds.size()));
+            try {
+                resolveAlreadyDelivered(chunk);
+            } catch (RuntimeException e) {
+                log.warn("Could not check {} saved product creation jobs: {}", chunk.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @EventListener
+    public void onInventoryCreateResult(InventoryCreateResultEvent event) {
+        resolve(event.productId(), event.accepted(), MESSAGE_STOCK_REJECTED);
+    }
+
+    private void resolve(long productId, boolean accepted, String rejectedMessage) {
+        String jobId = awaitingInventory.remove(productId);
+        if (jobId == null) {
+            return;
+        }
+        jobs.computeIfPresent(jobId, (id, job) -> new ProductCreationJobDto(
+                id,
+                accepted ? ProductCreationJobStatus.CREATED : ProductCreationJobStatus.REJECTED,
+                productId,
+                accepted ? MESSAGE_201 : rejectedMessage,
+                job.getAcceptedAt(),
+                LocalDateTime.now()));
+    }
+
+    private void awaitInventory(QueuedJob queuedJob, Long productId) {
+        jobs.computeIfPresent(queuedJob.jobId(), (jobId, job) -> new ProductCreationJobDto(
+                jobId, ProductCreationJobStatus.SAVED, productId, MESSAGE_202_SAVED, job.getAcceptedAt(), null));
+        awaitingInventory.put(productId, queuedJob.jobId());
+    }
+
+    private void complete(QueuedJob queuedJob, ProductCreationJobStatus status, Long productId, String message) {
+        jobs.computeIfPresent(queuedJob.jobId(), (jobId, job) -> new ProductCreationJobDto(
+                jobId, status, productId, message, job.getAcceptedAt(), LocalDateTime.now()));
+    }
+
+    /**
+     * Завершает ошибкой задание, которое ещё не было обработано; уже сохранённые товары не трогает.
+     */
+    private void fail(QueuedJob queuedJob, String message) {
+        jobs.computeIfPresent(queuedJob.jobId(), (jobId, job) -> job.getStatus() != ProductCreationJobStatus.ACCEPTED ? job
+                : new ProductCreationJobDto(jobId, ProductCreationJobStatus.FAILED, null, message, job.getAcceptedAt(), LocalDateTime.now()));
+    }
+
+    private void evictCompleted() {
+        long now = System.nanoTime();
+        if (now < nextEvictionNanos) {
+            return;
+        }
+        nextEvictionNanos = now + TimeUnit.MILLISECONDS.toNanos(EVICTION_INTERVAL_MILLIS);
+        recheckAwaiting();
+        LocalDateTime threshold = LocalDateTime.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(threshold));
+    }
+
+    private record QueuedJob(String jobId, ProductInventoryDto productInventoryDto) {
+    }
+}
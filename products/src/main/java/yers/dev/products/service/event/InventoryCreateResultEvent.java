@@ -0,0 +1,11 @@
+package yers.dev.products.service.event;
+
+/**
+ * Итог отправки складской записи нового товара в сервис inventory. Публикуется
+ * {@code InventoryOutboxRelay}, когда изменение CREATE покидает outbox.
+ *
+ * @param productId идентификатор товара
+ * @param accepted  {@code true}, если inventory принял запись; иначе товар удалён компенсацией
+ */
+public record InventoryCreateResultEvent(long productId, boolean accepted) {
+}
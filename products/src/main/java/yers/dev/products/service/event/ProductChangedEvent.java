@@ -0,0 +1,26 @@
+package yers.dev.products.service.event;
+
+import yers.dev.products.model.dto.ProductsDto;
+
+/**
+ * Событие изменения товара. Публикуется {@code ProductsService} внутри транзакции записи,
+ * слушатели получают его после коммита.
+ *
+ * @param productId идентификатор товара
+ * @param version   версия товара: сохранённая или последняя перед удалением
+ * @param product   актуальное состояние товара, {@code null} если товар удалён
+ */
+public record ProductChangedEvent(long productId, long version, ProductsDto product) {
+
+    public static ProductChangedEvent saved(ProductsDto product) {
+        return new ProductChangedEvent(product.getProduct_id(), product.getVersion(), product);
+    }
+
+    public static ProductChangedEvent deleted(long productId, long version) {
+        return new ProductChangedEvent(productId, version, null);
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
@@ -0,0 +1,305 @@
+package yers.dev.products.service.outbox;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yers.dev.products.configuration.InventoryOutboxProperties;
+import yers.dev.products.model.InventoryChangeType;
+import yers.dev.products.model.InventoryOutboxEvent;
+import yers.dev.products.model.OutboxRelayLease;
+import yers.dev.products.model.dto.InventoryChangeDto;
+import yers.dev.products.repository.InventoryOutboxRepository;
+import yers.dev.products.repository.OutboxRelayLeaseRepository;
+import yers.dev.products.service.ProductsService;
+import yers.dev.products.service.client.InventoryFeignClient;
+import yers.dev.products.service.event.InventoryCreateResultEvent;
+import yers.dev.products.service.event.ProductChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static yers.dev.products.constants.ProductsConstants.*;
+
+/**
+ * Переносит складские изменения из таблицы inventory_outbox в сервис inventory пакетами
+ * по {@link InventoryOutboxProperties#getBatchSize()} в порядке записи. Отправленные записи
+ * удаляются; при ошибке пакет остаётся в outbox, а повтор откладывается с экспоненциальной паузой.
+ * <p>
+ * Доставка «хотя бы один раз»: изменения передают итоговое состояние записи, поэтому
+ * повторная отправка того же пакета безопасна. Работает в одном потоке, так что порядок
+ * изменений одного товара сохраняется.
+ * <p>
+ * Если запущено несколько экземпляров products, outbox разбирает только тот, кто держит аренду
+ * в таблице outbox_relay_lease: остальные не читают строки, поэтому одни и те же изменения
+ * не уходят параллельно и порядок не нарушается. Аренда продлевается, пока владелец работает,
+ * освобождается при остановке, а после падения владельца переходит к другому экземпляру через
+ * {@link InventoryOutboxProperties#getLeaseDuration()}.
+ * <p>
+ * Если inventory отклоняет пакет по сути (4xx), изменения переотправляются по одному, чтобы
+ * найти виновное. Отклонённое изменение убирается из outbox, а для нового товара выполняется
+ * компенсация — товар удаляется, как раньше откатывалось его создание при ошибке inventory.
+ * Итог каждого изменения CREATE публикуется как {@link InventoryCreateResultEvent}.
+ * <p>
+ * Пока circuit breaker вызовов inventory открыт, relay не отправляет ничего и ждёт ровно столько,
+ * сколько breaker остаётся открытым; когда breaker снова закрывается, накопленный outbox
+ * отправляется сразу, без ожидания паузы.
+ * Глубина outbox, возраст самого старого изменения и скорость отправки доступны как метрики.
+ */
+@Component
+@Slf4j
+public class InventoryOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final String LEASE_NAME = "inventory-outbox";
+
+    private final InventoryOutboxRepository outboxRepository;
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final InventoryFeignClient inventoryFeignClient;
+    private final InventoryOutboxProperties properties;
+    private final ProductsService productsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("inventory-outbox-relay").daemon().factory());
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+    private final Counter deliveredChanges;
+    private final Counter failedBatches;
+    private final Counter rejectedChanges;
+    private final ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry;
+
+    private long backoffMillis;
+    private long retryAtNanos;
+    private boolean leaseHeld;
+    private long leaseRenewAtNanos;
+
+    public InventoryOutboxRelay(InventoryOutboxRepository outboxRepository, OutboxRelayLeaseRepository leaseRepository,
+                                InventoryFeignClient inventoryFeignClient,
+                                InventoryOutboxProperties properties, ProductsService productsService,
+                                ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.leaseRepository = leaseRepository;
+        this.inventoryFeignClient = inventoryFeignClient;
+        this.properties = properties;
+        this.productsService = productsService;
+        this.eventPublisher = eventPublisher;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.backoffMillis = properties.getPollInterval().toMillis();
+        Gauge.builder(OUTBOX_DEPTH_METRIC, outboxRepository, InventoryOutboxRepository::count)
+                .description("Inventory changes waiting in the outbox")
+                .register(meterRegistry);
+        TimeGauge.builder(OUTBOX_OLDEST_AGE_METRIC, outboxRepository, TimeUnit.MILLISECONDS, InventoryOutboxRelay::oldestAgeMillis)
+                .description("Age of the oldest inventory change waiting in the outbox")
+                .register(meterRegistry);
+        this.deliveredChanges = Counter.builder(OUTBOX_DELIVERED_METRIC)
+                .description("Inventory changes delivered to the inventory service")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder(OUTBOX_FAILED_METRIC)
+                .description("Outbox batches that failed and will be retried")
+                .register(meterRegistry);
+        this.rejectedChanges = Counter.builder(OUTBOX_REJECTED_METRIC)
+                .description("Inventory changes rejected by the inventory service and compensated")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        createLeaseIfMissing();
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+        circuitBreakerRegistry.ifAvailable(registry -> {
+            registry.getAllCircuitBreakers().forEach(this::watch);
+            registry.getEventPublisher().onEntryAdded(event -> watch(event.getAddedEntry()));
+        });
+    }
+
+    /**
+     * Строка аренды создаётся миграцией, но схема может прийти и из Hibernate; одновременная
+     * вставка несколькими экземплярами безопасна — проигравший получает нарушение ключа.
+     */
+    private void createLeaseIfMissing() {
+        try {
+            if (!leaseRepository.existsById(LEASE_NAME)) {
+                leaseRepository.saveAndFlush(new OutboxRelayLease(LEASE_NAME, null, LocalDateTime.of(1970, 1, 1, 0, 0)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Inventory outbox lease was created by another instance");
+        }
+    }
+
+    /**
+     * Следит за circuit breaker'ом отправки изменений: открытие откладывает следующую попытку
+     * до конца его ожидания, закрытие сбрасывает паузу и сразу запускает отправку.
+     */
+    private void watch(CircuitBreaker circuitBreaker) {
+        if (!circuitBreaker.getName().startsWith(InventoryFeignClient.class.getSimpleName() + "applyInventoryChanges")) {
+            return;
+        }
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.State state = event.getStateTransition().getToState();
+            if (state == CircuitBreaker.State.OPEN) {
+                long waitMillis = circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+                log.info("Inventory circuit is open, pausing outbox for {} ms", waitMillis);
+                scheduler.execute(() -> retryAtNanos = Math.max(retryAtNanos,
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis)));
+            } else if (state == CircuitBreaker.State.CLOSED) {
+                log.info("Inventory circuit is closed again, draining outbox");
+                scheduler.execute(() -> {
+                    retryAtNanos = 0;
+                    backoffMillis = properties.getPollInterval().toMillis();
+                    drain();
+                });
+            }
+        });
+    }
+
+    private static double oldestAgeMillis(InventoryOutboxRepository outboxRepository) {
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+        return oldest == null ? 0 : Math.max(Duration.between(oldest, LocalDateTime.now()).toMillis(), 0);
+    }
+
+    /**
+     * После коммита записи товара не ждём очередного опроса и сразу отправляем изменения.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (wakeUpScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                wakeUpScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    void drain() {
+        if (System.nanoTime() < retryAtNanos) {
+            return;
+        }
+        try {
+            List<InventoryOutboxEvent> batch;
+            do {
+                if (!holdLease()) {
+                    return;
+                }
+                batch = outboxRepository.findOldest(Limit.of(properties.getBatchSize()));
+            } while (!batch.isEmpty() && send(batch) && batch.size() == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Inventory outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Берёт или продлевает аренду outbox. Пока до её конца больше половины срока, в БД не ходим.
+     */
+    private boolean holdLease() {
+        long nowNanos = System.nanoTime();
+        if (leaseHeld && nowNanos < leaseRenewAtNanos) {
+            return true;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean held = leaseRepository.tryAcquire(LEASE_NAME, instanceId, now, now.plus(properties.getLeaseDuration())) > 0;
+        if (held != leaseHeld) {
+            log.info(held ? "This instance now relays the inventory outbox" : "Inventory outbox is relayed by another instance");
+        }
+        leaseHeld = held;
+        leaseRenewAtNanos = nowNanos + properties.getLeaseDuration().toNanos() / 2;
+        return held;
+    }
+
+    private boolean send(List<InventoryOutboxEvent> batch) {
+        List<Long> ids = batch.stream().map(InventoryOutboxEvent::getId).toList();
+        List<InventoryChangeDto> changes = batch.stream().map(InventoryOutboxRelay::toChange).toList();
+        String error;
+        try {
+            ResponseEntity<Void> response = inventoryFeignClient.applyInventoryChanges(
+                    "inventory-outbox-" + ids.get(0) + "-" + ids.get(ids.size() - 1), changes);
+            HttpStatusCode status = response == null ? null : response.getStatusCode();
+            if (status != null && status.is2xxSuccessful()) {
+                outboxRepository.deleteAllByIdInBatch(ids);
+                deliveredChanges.increment(ids.size());
+                batch.stream()
+                        .filter(event -> event.getType() == InventoryChangeType.CREATE)
+                        .forEach(event -> eventPublisher.publishEvent(new InventoryCreateResultEvent(event.getProductId(), true)));
+                backoffMillis = properties.getPollInterval().toMillis();
+                return true;
+            }
+            if (status != null && status.is4xxClientError()) {
+                return batch.size() == 1 ? reject(batch.get(0), status) : sendOneByOne(batch);
+            }
+            error = "Inventory changes rejected: " + (status == null ? "no response" : status);
+        } catch (RuntimeException e) {
+            error = String.valueOf(e.getMessage());
+        }
+        outboxRepository.markFailed(ids, error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        failedBatches.increment();
+        retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+        log.warn("Could not send {} inventory changes, retrying in {} ms: {}", ids.size(), backoffMillis, error);
+        backoffMillis = Math.min(backoffMillis * 2, properties.getMaxBackoff().toMillis());
+        return false;
+    }
+
+    private boolean sendOneByOne(List<InventoryOutboxEvent> batch) {
+        for (InventoryOutboxEvent event : batch) {
+            if (!send(List.of(event))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Изменение, которое inventory никогда не примет: убираем из outbox и, если это
+     * складская запись нового товара, удаляем сам товар.
+     */
+    private boolean reject(InventoryOutboxEvent event, HttpStatusCode status) {
+        log.error("Inventory rejected {} change {} for product {} with {}, compensating",
+                event.getType(), event.getId(), event.getProductId(), status);
+        if (event.getType() == InventoryChangeType.CREATE) {
+            productsService.deleteProduct(event.getProductId());
+        }
+        outboxRepository.deleteAllByIdInBatch(List.of(event.getId()));
+        rejectedChanges.increment();
+        if (event.getType() == InventoryChangeType.CREATE) {
+            eventPublisher.publishEvent(new InventoryCreateResultEvent(event.getProductId(), false));
+        }
+        return true;
+    }
+
+    private static InventoryChangeDto toChange(InventoryOutboxEvent event) {
+        return new InventoryChangeDto(event.getProductId(), event.getQuantity(), event.getWarehouseLocation(),
+                event.getType() == InventoryChangeType.DELETE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+            leaseRepository.release(LEASE_NAME, instanceId, LocalDateTime.now());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Could not release the inventory outbox lease: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package yers.dev.products.util;
+
+import yers.dev.products.model.dto.ProductsDto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Построение сильных ETag для ответов с товарами.
+ * Значение зависит только от идентификаторов, версий ({@code @Version}) и остатков товаров,
+ * поэтому вычисляется без сериализации тела ответа. Остаток учитывается отдельно: его
+ * обновления из inventory не меняют версию товара.
+ */
+public final class ETagUtility {
+
+    private ETagUtility() {
+    }
+
+    /**
+     * ETag одного товара: идентификатор, номер версии и остаток.
+     */
+    public static String forProduct(ProductsDto product) {
+        return "\"" + product.getProduct_id() + "-" + product.getVersion() + "-" + product.getStock_quantity() + "\"";
+    }
+
+    /**
+     * ETag списка товаров: отпечаток (идентификатор, версия, остаток) в порядке выдачи.
+     * {@code extra} учитывает прочие поля ответа, например курсор следующей страницы.
+     */
+    public static String forProducts(List<ProductsDto> products, Object... extra) {
+        long hash = 1125899906842597L;
+        for (ProductsDto product : products) {
+            hash = 31 * hash + product.getProduct_id();
+            hash = 31 * hash + product.getVersion();
+            hash = 31 * hash + Objects.hashCode(product.getStock_quantity());
+        }
+        for (Object value : extra) {
+            hash = 31 * hash + (value == null ? 0 : value.hashCode());
+        }
+        return "\"" + products.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,2 @@
+-- Листинг категории: WHERE category = ? ORDER BY product_id читается прямо из индекса
+CREATE INDEX IF NOT EXISTS idx_products_category_product_id ON products (category, product_id);
@@ -0,0 +1,3 @@
+-- Пул идентификаторов для Hibernate (allocationSize = 50): IDENTITY отключает JDBC-батчинг INSERT
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+SELECT setval('products_seq', (SELECT COALESCE(MAX(product_id), 0) + 1 FROM products));
@@ -0,0 +1,4 @@
+-- Фильтр и сортировка по цене: WHERE [category = ? AND] price BETWEEN ? AND ?
+-- ORDER BY price, product_id с keyset-курсором по (price, product_id) читаются прямо из индекса
+CREATE INDEX IF NOT EXISTS idx_products_category_price ON products (category, price, product_id);
+CREATE INDEX IF NOT EXISTS idx_products_price ON products (price, product_id);
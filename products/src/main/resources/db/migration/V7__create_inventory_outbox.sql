@@ -0,0 +1,13 @@
+-- Складские изменения, ожидающие отправки в сервис inventory; пишутся в одной транзакции с товаром
+CREATE SEQUENCE IF NOT EXISTS inventory_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inventory_outbox (
+    id BIGINT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    quantity BIGINT,
+    warehouse_location VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(255)
+);
@@ -0,0 +1,3 @@
+-- stock_quantity становится read model остатков из сервиса inventory;
+-- stock_version — версия складской записи, из которой взято значение, защищает от устаревших событий
+ALTER TABLE products ADD COLUMN IF NOT EXISTS stock_version BIGINT;
@@ -0,0 +1,10 @@
+-- Аренда relay outbox: отправкой занимается только экземпляр, который держит её в данный момент
+CREATE TABLE IF NOT EXISTS outbox_relay_lease (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64),
+    leased_until TIMESTAMP NOT NULL
+);
+
+INSERT INTO outbox_relay_lease (name, owner, leased_until)
+SELECT 'inventory-outbox', NULL, TIMESTAMP '1970-01-01 00:00:00'
+WHERE NOT EXISTS (SELECT 1 FROM outbox_relay_lease WHERE name = 'inventory-outbox');
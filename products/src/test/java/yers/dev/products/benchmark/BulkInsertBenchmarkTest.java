@@ -0,0 +1,97 @@
+package yers.dev.products.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import yers.dev.products.model.Category;
+
+import java.util.function.IntFunction;
+
+/**
+ * Пропускная способность массовой вставки: IDENTITY против пуловой последовательности
+ * при включённом {@code hibernate.jdbc.batch_size}.
+ * <p>
+ * Запуск: {@code mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void identityVersusPooledSequence() {
+        // прогрев JIT и пулов соединений
+        insert(ROWS / 4, this::identityProduct);
+        insert(ROWS / 4, this::sequenceProduct);
+
+        Result identity = insert(ROWS, this::identityProduct);
+        Result sequence = insert(ROWS, this::sequenceProduct);
+
+        System.out.printf("%n%-22s %12s %14s %12s%n", "id strategy", "rows/s", "prepared stmts", "rows");
+        System.out.printf("%-22s %12.0f %14d %12d%n", "IDENTITY (before)", identity.rowsPerSecond(), identity.preparedStatements(), identity.rows());
+        System.out.printf("%-22s %12.0f %14d %12d%n%n", "SEQUENCE pooled (after)", sequence.rowsPerSecond(), sequence.preparedStatements(), sequence.rows());
+    }
+
+    private Result insert(int rows, IntFunction<Object> factory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        for (int from = 0; from < rows; from += ROWS_PER_TRANSACTION) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < start + ROWS_PER_TRANSACTION; i++) {
+                    entityManager.persist(factory.apply(i));
+                    if ((i + 1) % FLUSH_EVERY == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            });
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return new Result(rows / seconds, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+    }
+
+    private Object identityProduct(int i) {
+        IdentityBenchmarkProduct product = new IdentityBenchmarkProduct();
+        product.setName("Product " + i);
+        product.setDescription("Benchmark product number " + i);
+        product.setPrice(i % 1000);
+        product.setCategory(Category.values()[i % Category.values().length]);
+        return product;
+    }
+
+    private Object sequenceProduct(int i) {
+        SequenceBenchmarkProduct product = new SequenceBenchmarkProduct();
+        product.setName("Product " + i);
+        product.setDescription("Benchmark product number " + i);
+        product.setPrice(i % 1000);
+        product.setCategory(Category.values()[i % Category.values().length]);
+        return product;
+    }
+
+    private record Result(double rowsPerSecond, long preparedStatements, long rows) {
+    }
+}
@@ -0,0 +1,35 @@
+package yers.dev.products.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import yers.dev.products.model.Category;
+
+/**
+ * Копия колонок {@code Products} с прежней стратегией IDENTITY — точка отсчёта для бенчмарка.
+ */
+@Entity
+@Table(name = "benchmark_identity_products")
+@Getter
+@Setter
+public class IdentityBenchmarkProduct {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private String name;
+
+    private String description;
+
+    private double price;
+
+    @Enumerated(EnumType.STRING)
+    private Category category;
+}
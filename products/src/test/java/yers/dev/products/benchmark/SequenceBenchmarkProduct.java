@@ -0,0 +1,37 @@
+package yers.dev.products.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import yers.dev.products.model.Category;
+
+/**
+ * Копия колонок {@code Products} с пуловой последовательностью, как у боевой сущности.
+ */
+@Entity
+@Table(name = "benchmark_sequence_products")
+@Getter
+@Setter
+public class SequenceBenchmarkProduct {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_products_seq")
+    @SequenceGenerator(name = "benchmark_products_seq", sequenceName = "benchmark_products_seq", allocationSize = 50)
+    private long id;
+
+    private String name;
+
+    private String description;
+
+    private double price;
+
+    @Enumerated(EnumType.STRING)
+    private Category category;
+}
@@ -0,0 +1,182 @@
+package yers.dev.products.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import yers.dev.products.model.Category;
+import yers.dev.products.model.dto.ProductInventoryDto;
+import yers.dev.products.service.ProductsService;
+import yers.dev.products.service.client.InventoryFeignClient;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Записи товаров при быстром и при медленном inventory (каждый вызов отвечает через {@link #INVENTORY_LATENCY}).
+ * Пока записи идут через outbox, занятость пула Hikari определяется только локальными
+ * транзакциями: в обеих фазах она одинакова, а задержка записи не зависит от inventory.
+ * <p>
+ * Запуск: {@code mvn test -Dtest=SlowInventoryLoadTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class SlowInventoryLoadTest {
+
+    private static final Duration INVENTORY_LATENCY = Duration.ofSeconds(2);
+    private static final int WRITERS = 8;
+    private static final int WRITES_PER_WRITER = 250;
+
+    @MockitoBean
+    private InventoryFeignClient inventoryFeignClient;
+
+    @Autowired
+    private ProductsService productsService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void poolStaysFlatWhileInventoryIsSlow() throws Exception {
+        AtomicInteger inventoryCalls = new AtomicInteger();
+        AtomicLong inventoryLatencyMillis = new AtomicLong();
+        when(inventoryFeignClient.applyInventoryChanges(any(), any())).thenAnswer(invocation -> {
+            inventoryCalls.incrementAndGet();
+            Thread.sleep(inventoryLatencyMillis.get());
+            return ResponseEntity.ok().build();
+        });
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        // прогрев JIT и пула соединений
+        run(hikari.getHikariPoolMXBean());
+        Result fast = run(hikari.getHikariPoolMXBean());
+        inventoryLatencyMillis.set(INVENTORY_LATENCY.toMillis());
+        int callsBeforeSlowPhase = inventoryCalls.get();
+        Result slow = run(hikari.getHikariPoolMXBean());
+
+        System.out.printf("%nwriters: %d, writes per phase: %d, hikari pool size: %d%n",
+                WRITERS, WRITERS * WRITES_PER_WRITER, hikari.getMaximumPoolSize());
+        System.out.printf("%-22s %10s %10s %10s %12s %12s %12s%n",
+                "inventory latency", "writes/s", "p50, ms", "p99, ms", "active avg", "active max", "waiting max");
+        print("0 ms", fast);
+        print(INVENTORY_LATENCY.toMillis() + " ms", slow);
+        System.out.printf("inventory calls during slow phase: %d%n%n", inventoryCalls.get() - callsBeforeSlowPhase);
+
+        assertTrue(slow.p99Millis() < INVENTORY_LATENCY.toMillis(), "product writes must not wait for inventory");
+        assertTrue(slow.maxActive() <= fast.maxActive() + 1, "slow inventory must not pin extra connections");
+    }
+
+    private Result run(HikariPoolMXBean pool) throws InterruptedException {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        PoolSampler sampler = new PoolSampler(pool);
+        Thread samplerThread = Thread.ofPlatform().daemon().start(sampler);
+
+        long began = System.nanoTime();
+        try (ExecutorService writers = Executors.newFixedThreadPool(WRITERS)) {
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int writerId = writer;
+                writers.execute(() -> {
+                    Long productId = null;
+                    for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                        long started = System.nanoTime();
+                        if (productId == null || i % 2 == 0) {
+                            productId = productsService.createProduct(product(writerId, i)).getProduct_id();
+                        } else {
+                            productsService.updateProduct(productId, product(writerId, i));
+                        }
+                        latencies.add(System.nanoTime() - started);
+                    }
+                });
+            }
+            writers.shutdown();
+            assertTrue(writers.awaitTermination(2, TimeUnit.MINUTES));
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        sampler.stop();
+        samplerThread.join();
+
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return new Result(sorted.size() / seconds, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                sampler.averageActive(), sampler.maxActive, sampler.maxWaiting);
+    }
+
+    private static void print(String inventoryLatency, Result result) {
+        System.out.printf("%-22s %10.0f %10d %10d %12.1f %12d %12d%n", inventoryLatency, result.writesPerSecond(),
+                result.p50Millis(), result.p99Millis(), result.averageActive(), result.maxActive(), result.maxWaiting());
+    }
+
+    private static ProductInventoryDto product(int writer, int i) {
+        ProductInventoryDto dto = new ProductInventoryDto();
+        dto.setName("Load product " + writer + "-" + i);
+        dto.setDescription("Product written while inventory is slow");
+        dto.setPrice(100 + i);
+        dto.setStock_quantity(10);
+        dto.setCategory(Category.values()[i % Category.values().length]);
+        dto.setWarehouseLocation("A-" + writer);
+        return dto;
+    }
+
+    private static long percentileMillis(List<Long> sortedNanos, double percentile) {
+        int index = (int) Math.min(sortedNanos.size() - 1, Math.ceil(percentile * sortedNanos.size()) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(index, 0)));
+    }
+
+    private record Result(double writesPerSecond, long p50Millis, long p99Millis,
+                          double averageActive, int maxActive, int maxWaiting) {
+    }
+
+    /**
+     * Снимает число занятых соединений и ждущих потоков пула каждые 5 мс.
+     */
+    private static final class PoolSampler implements Runnable {
+        private final HikariPoolMXBean pool;
+        private volatile boolean running = true;
+        private long samples;
+        private long activeSum;
+        private int maxActive;
+        private int maxWaiting;
+
+        private PoolSampler(HikariPoolMXBean pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                int active = pool.getActiveConnections();
+                samples++;
+                activeSum += active;
+                maxActive = Math.max(maxActive, active);
+                maxWaiting = Math.max(maxWaiting, pool.getThreadsAwaitingConnection());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        void stop() {
+            running = false;
+        }
+
+        double averageActive() {
+            return samples == 0 ? 0 : (double) activeSum / samples;
+        }
+    }
+}
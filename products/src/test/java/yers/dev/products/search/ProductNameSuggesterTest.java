@@ -0,0 +1,92 @@
+package yers.dev.products.search;
+
+import org.junit.jupiter.api.Test;
+import yers.dev.products.model.Category;
+import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.service.event.ProductChangedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Префиксные подсказки без контекста Spring: начало любого слова, регистр, повторы названий,
+ * лимит и обновление по событиям.
+ */
+class ProductNameSuggesterTest {
+
+    private final ProductNameSuggester suggester = new ProductNameSuggester(null);
+
+    @Test
+    void matchesPrefixOfAnyWordIgnoringCase() {
+        suggester.put(product(1, "Samsung Galaxy S21", 0));
+        suggester.put(product(2, "Galaxy Buds", 0));
+
+        assertEquals(List.of("Galaxy Buds", "Samsung Galaxy S21"), suggester.suggest("GAL", 10));
+        assertEquals(List.of("Samsung Galaxy S21"), suggester.suggest("galaxy s", 10));
+        assertEquals(List.of("Samsung Galaxy S21"), suggester.suggest("s2", 10));
+        assertTrue(suggester.suggest("alaxy", 10).isEmpty());
+    }
+
+    @Test
+    void normalizesCyrillic() {
+        suggester.put(product(1, "Ёлочная игрушка", 0));
+
+        assertEquals(List.of("Ёлочная игрушка"), suggester.suggest("ел", 10));
+        assertEquals(List.of("Ёлочная игрушка"), suggester.suggest("ИГР", 10));
+    }
+
+    @Test
+    void returnsDistinctNamesUpToLimit() {
+        suggester.put(product(1, "Кружка", 0));
+        suggester.put(product(2, "Кружка", 0));
+        suggester.put(product(3, "Кружка большая", 0));
+        suggester.put(product(4, "Кружево", 0));
+
+        assertEquals(List.of("Кружево", "Кружка", "Кружка большая"), suggester.suggest("круж", 10));
+        assertEquals(List.of("Кружево", "Кружка"), suggester.suggest("круж", 2));
+    }
+
+    @Test
+    void blankInputAndNonPositiveLimitReturnNothing() {
+        suggester.put(product(1, "Лампа", 0));
+        suggester.put(product(2, " ", 0));
+
+        assertTrue(suggester.suggest(" ", 10).isEmpty());
+        assertTrue(suggester.suggest(null, 10).isEmpty());
+        assertTrue(suggester.suggest("ла", 0).isEmpty());
+    }
+
+    @Test
+    void renameDropsOldKeys() {
+        suggester.put(product(1, "Старое имя", 0));
+        suggester.put(product(1, "Новое имя", 1));
+
+        assertTrue(suggester.suggest("стар", 10).isEmpty());
+        assertEquals(List.of("Новое имя"), suggester.suggest("имя", 10));
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewer() {
+        suggester.onProductChanged(ProductChangedEvent.saved(product(1, "Новое имя", 2)));
+        suggester.onProductChanged(ProductChangedEvent.saved(product(1, "Старое имя", 1)));
+
+        assertEquals(List.of("Новое имя"), suggester.suggest("имя", 10));
+    }
+
+    @Test
+    void deleteIsSkippedWhenOlderAndBlocksLateSaveOtherwise() {
+        suggester.onProductChanged(ProductChangedEvent.saved(product(1, "Плед", 2)));
+        suggester.onProductChanged(ProductChangedEvent.deleted(1, 1));
+        assertEquals(List.of("Плед"), suggester.suggest("пл", 10));
+
+        suggester.onProductChanged(ProductChangedEvent.deleted(1, 2));
+        suggester.onProductChanged(ProductChangedEvent.saved(product(1, "Плед", 2)));
+        assertTrue(suggester.suggest("пл", 10).isEmpty());
+    }
+
+    private static ProductsDto product(long id, String name, long version) {
+        return new ProductsDto(id, name, "описание", 10.0, Category.FURNITURE, version, null);
+    }
+}
@@ -0,0 +1,132 @@
+package yers.dev.products.search;
+
+import org.junit.jupiter.api.Test;
+import yers.dev.products.model.Category;
+import yers.dev.products.model.dto.ProductsDto;
+import yers.dev.products.service.event.ProductChangedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Инвертированный индекс без контекста Spring: токенизация, ранжирование, фильтр, лимит
+ * и порядок событий по версиям.
+ */
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(null);
+
+    @Test
+    void tokenizerLowercasesSplitsAndDropsSingleCharacters() {
+        assertEquals(List.of("ноутбук", "елка", "usb", "20"),
+                ProductTextTokenizer.tokenize("Ноутбук, ЁЛКА/USB-c 20 x"));
+        assertTrue(ProductTextTokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void queryIsTokenizedLikeProductText() {
+        index.put(product(1, "Ёлочная гирлянда", "LED", Category.TOYS, 0));
+
+        assertEquals(List.of(1L), ids("ЕЛОЧНАЯ!!", null, 10));
+        assertTrue(ids("- ,", null, 10).isEmpty());
+    }
+
+    @Test
+    void nameMatchOutranksDescriptionMatch() {
+        index.put(product(1, "Чехол", "аксессуар телефон", Category.ELECTRONICS, 0));
+        index.put(product(2, "Телефон", "смартфон", Category.ELECTRONICS, 0));
+
+        assertEquals(List.of(2L, 1L), ids("телефон", null, 10));
+    }
+
+    @Test
+    void productsMatchingAllTermsComeFirst() {
+        index.put(product(1, "Красный стул", "дерево", Category.FURNITURE, 0));
+        index.put(product(2, "Красный стол", "дерево", Category.FURNITURE, 0));
+
+        assertEquals(List.of(2L, 1L), ids("красный стол", null, 10));
+    }
+
+    @Test
+    void tiesAreOrderedByProductId() {
+        for (long id : new long[]{42, 7, 19, 3}) {
+            index.put(product(id, "Кружка", "керамика", Category.FURNITURE, 0));
+        }
+
+        assertEquals(List.of(3L, 7L, 19L, 42L), ids("кружка", null, 10));
+        assertEquals(List.of(3L, 7L), ids("кружка", null, 2));
+    }
+
+    @Test
+    void categoryFilterIsAppliedBeforeLimit() {
+        index.put(product(1, "Книга рецептов", "кухня", Category.BOOKS, 0));
+        index.put(product(2, "Книга игрушка", "мягкая", Category.TOYS, 0));
+        index.put(product(3, "Книга сказок", "детская", Category.BOOKS, 0));
+
+        assertEquals(List.of(1L, 3L), ids("книга", Category.BOOKS, 2));
+        assertEquals(List.of(2L), ids("книга", Category.TOYS, 10));
+        assertTrue(ids("книга", Category.CLOTHING, 10).isEmpty());
+    }
+
+    @Test
+    void nonPositiveLimitReturnsNothing() {
+        index.put(product(1, "Лампа", "настольная", Category.FURNITURE, 0));
+
+        assertTrue(ids("лампа", null, 0).isEmpty());
+    }
+
+    @Test
+    void updateReplacesOldPostings() {
+        index.put(product(1, "Старое название", "описание", Category.BOOKS, 0));
+        index.put(product(1, "Новое название", "описание", Category.BOOKS, 1));
+
+        assertTrue(ids("старое", null, 10).isEmpty());
+        assertEquals(List.of(1L), ids("новое", null, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewer() {
+        index.onProductChanged(ProductChangedEvent.saved(product(1, "Новое", "описание", Category.BOOKS, 2)));
+        index.onProductChanged(ProductChangedEvent.saved(product(1, "Старое", "описание", Category.BOOKS, 1)));
+
+        assertEquals(List.of(1L), ids("новое", null, 10));
+        assertTrue(ids("старое", null, 10).isEmpty());
+    }
+
+    @Test
+    void sameVersionIsReappliedForStockRefresh() {
+        index.put(new ProductsDto(1, "Куртка", "зимняя", 10.0, Category.CLOTHING, 3, 5L));
+        index.put(new ProductsDto(1, "Куртка", "зимняя", 10.0, Category.CLOTHING, 3, 4L));
+
+        assertEquals(4L, index.search("куртка", null, 1).get(0).getStock_quantity());
+    }
+
+    @Test
+    void deleteOlderThanIndexedVersionIsSkipped() {
+        index.onProductChanged(ProductChangedEvent.saved(product(1, "Плед", "шерсть", Category.FURNITURE, 2)));
+        index.onProductChanged(ProductChangedEvent.deleted(1, 1));
+
+        assertEquals(List.of(1L), ids("плед", null, 10));
+    }
+
+    @Test
+    void lateSaveDoesNotResurrectDeletedProduct() {
+        index.onProductChanged(ProductChangedEvent.saved(product(1, "Плед", "шерсть", Category.FURNITURE, 1)));
+        index.onProductChanged(ProductChangedEvent.deleted(1, 1));
+        index.onProductChanged(ProductChangedEvent.saved(product(1, "Плед", "шерсть", Category.FURNITURE, 1)));
+
+        assertTrue(ids("плед", null, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private static ProductsDto product(long id, String name, String description, Category category, long version) {
+        return new ProductsDto(id, name, description, 10.0, category, version, null);
+    }
+
+    private List<Long> ids(String query, Category category, int limit) {
+        return index.search(query, category, limit).stream().map(ProductsDto::getProduct_id).toList();
+    }
+}